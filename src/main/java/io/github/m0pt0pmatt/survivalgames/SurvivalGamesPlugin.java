@@ -29,9 +29,16 @@ import com.google.inject.Inject;
 import io.github.m0pt0pmatt.survivalgames.command.executor.DemoCommand;
 import io.github.m0pt0pmatt.survivalgames.command.executor.RootCommand;
 import io.github.m0pt0pmatt.survivalgames.command.executor.SurvivalGamesCommand;
+import io.github.m0pt0pmatt.survivalgames.listener.BlockChangeJournalListener;
+import io.github.m0pt0pmatt.survivalgames.listener.ChestIndexListener;
+import io.github.m0pt0pmatt.survivalgames.listener.CommandBlockIndexListener;
+import io.github.m0pt0pmatt.survivalgames.listener.EntityOwnershipListener;
+import io.github.m0pt0pmatt.survivalgames.listener.SpawnPositionListener;
 import io.github.m0pt0pmatt.survivalgames.listener.PlayerDeathListener;
 import io.github.m0pt0pmatt.survivalgames.listener.PlayerOpenedChestListener;
 import io.github.m0pt0pmatt.survivalgames.listener.SurvivalGameEventListener;
+import io.github.m0pt0pmatt.survivalgames.matchmaking.MatchmakingListener;
+import io.github.m0pt0pmatt.survivalgames.schedule.ScheduleListener;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
@@ -50,6 +57,7 @@ import org.spongepowered.api.event.game.state.GameStartedServerEvent;
 import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
 import org.spongepowered.api.plugin.Plugin;
 import org.spongepowered.api.scheduler.SpongeExecutorService;
+import org.spongepowered.api.world.ChunkTicketManager;
 
 import java.io.File;
 import java.io.IOException;
@@ -93,6 +101,16 @@ public class SurvivalGamesPlugin {
         Sponge.getEventManager().registerListeners(this, PlayerDeathListener.getInstance());
         Sponge.getEventManager().registerListeners(this, SurvivalGameEventListener.getInstance());
         Sponge.getEventManager().registerListeners(this, PlayerOpenedChestListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, BlockChangeJournalListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, ChestIndexListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, CommandBlockIndexListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, EntityOwnershipListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, SpawnPositionListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, ScheduleListener.getInstance());
+        Sponge.getEventManager().registerListeners(this, MatchmakingListener.getInstance());
+
+        // Tickets left over from before a restart belong to no game.
+        Sponge.getServer().getChunkTicketManager().registerCallback(this, (tickets, world) -> tickets.forEach(ChunkTicketManager.LoadingTicket::release));
 
         // Register the root command.
         // All other commands exist under the root command.
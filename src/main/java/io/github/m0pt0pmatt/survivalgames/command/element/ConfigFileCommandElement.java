@@ -27,6 +27,7 @@ package io.github.m0pt0pmatt.survivalgames.command.element;
 
 import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshotFile;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
@@ -53,7 +54,10 @@ public class ConfigFileCommandElement extends SelectorCommandElement {
             return Collections.emptyList();
         }
 
-        return Arrays.stream(files).map(File::getName).collect(Collectors.toList());
+        return Arrays.stream(files)
+                .map(File::getName)
+                .filter(name -> !name.endsWith(ArenaSnapshotFile.EXTENSION))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -53,6 +53,11 @@ public class DeleteGameCommand extends LeafCommand {
         SurvivalGame survivalGame = (SurvivalGame) getOrThrow(args, CommandKeys.SURVIVAL_GAME);
 
         SurvivalGameRepository.remove(survivalGame.getName());
+        survivalGame.cancelBlockRestore();
+        survivalGame.cancelChestFill();
+        survivalGame.releaseChunkTickets();
+        survivalGame.getPulseEngine().restoreAll();
+        survivalGame.getTimingWheel().cancelAll();
 
         sendSuccess(src, "Deleted game", survivalGame.getName());
         return CommandResult.success();
@@ -30,9 +30,11 @@ import static io.github.m0pt0pmatt.survivalgames.Util.sendSuccess;
 
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerJoinedGameEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
 import javax.annotation.Nonnull;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -64,7 +66,11 @@ class JoinCommand extends LeafCommand {
             throw new CommandException(Text.of("State must be " + SurvivalGameState.READY));
         }
 
-        survivalGame.addPlayer(player);
+        if (!survivalGame.containsPlayer(player.getUniqueId())) {
+            survivalGame.addPlayer(player);
+            Sponge.getEventManager().post(
+                    new PlayerJoinedGameEvent(Sponge.getCauseStackManager().getCurrentCause(), survivalGame, player));
+        }
         sendSuccess(src, "Joined game", survivalGame.getName());
         return CommandResult.success();
     }
@@ -30,9 +30,11 @@ import static io.github.m0pt0pmatt.survivalgames.Util.sendSuccess;
 
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerLeftGameEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
 import javax.annotation.Nonnull;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -64,8 +66,13 @@ public class LeaveCommand extends LeafCommand {
             throw new CommandException(Text.of("State must be " + SurvivalGameState.READY));
         }
 
+        boolean wasPlayer = survivalGame.containsPlayer(player.getUniqueId());
         survivalGame.removePlayer(player.getUniqueId());
         survivalGame.removeSpectator(player.getUniqueId());
+        if (wasPlayer) {
+            Sponge.getEventManager().post(
+                    new PlayerLeftGameEvent(Sponge.getCauseStackManager().getCurrentCause(), survivalGame, player));
+        }
         sendSuccess(src, "Left game", survivalGame.getName());
         return CommandResult.success();
     }
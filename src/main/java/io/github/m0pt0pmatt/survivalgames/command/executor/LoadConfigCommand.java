@@ -26,6 +26,7 @@
 package io.github.m0pt0pmatt.survivalgames.command.executor;
 
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
+import static io.github.m0pt0pmatt.survivalgames.Util.sendError;
 import static io.github.m0pt0pmatt.survivalgames.Util.sendSuccess;
 
 import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
@@ -34,7 +35,9 @@ import io.github.m0pt0pmatt.survivalgames.command.element.ConfigFileCommandEleme
 import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshotFile;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import javax.annotation.Nonnull;
 
@@ -89,6 +92,15 @@ public class LoadConfigCommand extends LeafCommand {
 
                             ObjectMapper.BoundInstance i = GameConfig.OBJECT_MAPPER.bindToNew();
                             GameConfig config = (GameConfig) i.populate(node);
+                            for (String problem : config.getItemConfig().rebuildLootTable().getProblems()) {
+                                sendError(src, "Skipped invalid loot", problem);
+                            }
+
+                            Path arenaFile = ArenaSnapshotFile.getPath(potentialFile);
+                            if (Files.exists(arenaFile)) {
+                                config.setArenaSnapshot(ArenaSnapshotFile.read(arenaFile));
+                            }
+
                             SurvivalGame game = new SurvivalGame(survivalGameName, config);
                             SurvivalGameRepository.put(survivalGameName, game);
 
@@ -62,9 +62,11 @@ public class RootCommand extends ParentCommand {
                         .add(TeleportCommand.getInstance())
                         .add(JoinCommand.getInstance())
                         .add(LeaveCommand.getInstance())
+                        .add(QueueCommand.getInstance())
                         .add(SpectateCommand.getInstance())
                         .add(ScheduleCommand.getInstance())
                         .add(UnscheduleCommand.getInstance())
+                        .add(VerifyCommand.getInstance())
                         .build()
         );
     }
@@ -34,6 +34,8 @@ import io.github.m0pt0pmatt.survivalgames.command.element.ConfigFileCommandEleme
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
 import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshotFile;
 import java.io.IOException;
 import java.nio.file.Path;
 import javax.annotation.Nonnull;
@@ -94,6 +96,11 @@ public class SaveConfigCommand extends LeafCommand {
                             ObjectMapper.BoundInstance i = GameConfig.OBJECT_MAPPER.bind(survivalGame.getConfig());
                             i.serialize(node);
                             loader.save(node);
+
+                            if (survivalGame.getConfig().getArenaSnapshot().isPresent()) {
+                                ArenaSnapshot snapshot = survivalGame.getConfig().getArenaSnapshot().get();
+                                ArenaSnapshotFile.write(snapshot, ArenaSnapshotFile.getPath(potentialFile));
+                            }
                         } catch (IOException | ObjectMappingException | RuntimeException e) {
                             e.printStackTrace();
                             throw new CommandException(Text.of("Error saving to file"), e);
@@ -32,6 +32,7 @@ import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import io.github.m0pt0pmatt.survivalgames.matchmaking.MatchmakingQueue;
 import javax.annotation.Nonnull;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
@@ -65,6 +66,7 @@ class SpectateCommand extends LeafCommand {
         }
 
         survivalGame.addSpectator(player);
+        MatchmakingQueue.remove(player.getUniqueId());
         sendSuccess(src, "Joined game", survivalGame.getName());
         return CommandResult.success();
     }
@@ -0,0 +1,89 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.command.executor;
+
+import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
+
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
+import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import io.github.m0pt0pmatt.survivalgames.thread.ProgressBuilder;
+import io.github.m0pt0pmatt.survivalgames.thread.VerifyBlocksProgressable;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+
+import javax.annotation.Nonnull;
+
+/** Reports which sections of a game's arena no longer match its arena snapshot, without fixing them. */
+public class VerifyCommand extends LeafCommand {
+
+    private static final SurvivalGamesCommand INSTANCE = new VerifyCommand();
+
+    private static final int MAX_LISTED_SECTIONS = 10;
+
+    private VerifyCommand() {
+        super(RootCommand.getInstance(), "verify", SurvivalGameCommandElement.getInstance());
+    }
+
+    @Nonnull
+    @Override
+    public CommandResult executeCommand(@Nonnull CommandSource src, @Nonnull CommandContext args)
+            throws CommandException {
+
+        SurvivalGame survivalGame = (SurvivalGame) getOrThrow(args, CommandKeys.SURVIVAL_GAME);
+        getOrThrow(survivalGame.getConfig().getArenaSnapshot(), "blocks");
+
+        VerifyBlocksProgressable progressable = new VerifyBlocksProgressable(survivalGame);
+        ProgressBuilder.builder(src, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
+                .runAsync(progressable, "Verifying Blocks", null)
+                .runSync(channel -> {
+                    ArenaSnapshot snapshot = progressable.getSnapshot();
+                    int[] changedSections = progressable.getVerifier().getChangedSections();
+
+                    channel.send(Text.of(TextColors.GREEN, "Sections changed: ", TextColors.BLUE,
+                            changedSections.length, " of ", progressable.getVerifier().getVerifiedSections()));
+                    for (int i = 0; i < changedSections.length && i < MAX_LISTED_SECTIONS; i++) {
+                        channel.send(Text.of(TextColors.BLUE, snapshot.getSectionMin(changedSections[i])));
+                    }
+                    if (changedSections.length > MAX_LISTED_SECTIONS) {
+                        channel.send(Text.of(TextColors.BLUE, "..."));
+                    }
+                }, "", null)
+                .start();
+
+        return CommandResult.success();
+    }
+
+    public static SurvivalGamesCommand getInstance() {
+        return INSTANCE;
+    }
+}
@@ -68,6 +68,7 @@ class AddItemCommand extends LeafCommand {
                 .getItemConfig()
                 .getItems()
                 .add(ItemStack.of(itemType, 1).createSnapshot());
+        survivalGame.getConfig().getItemConfig().invalidateLootTable();
 
         sendSuccess(src, "Item added", itemType.getName());
         return CommandResult.success();
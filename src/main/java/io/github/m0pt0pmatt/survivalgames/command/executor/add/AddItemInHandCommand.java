@@ -70,6 +70,7 @@ class AddItemInHandCommand extends LeafCommand {
         ItemStack itemStack = getOrThrow(player.getItemInHand(HandTypes.MAIN_HAND), "item");
 
         survivalGame.getConfig().getItemConfig().getItems().add(itemStack.createSnapshot());
+        survivalGame.getConfig().getItemConfig().invalidateLootTable();
 
         sendSuccess(src, "Item added", itemStack.getType().getName());
         return CommandResult.success();
@@ -32,9 +32,11 @@ import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
 import io.github.m0pt0pmatt.survivalgames.command.executor.LeafCommand;
 import io.github.m0pt0pmatt.survivalgames.command.executor.SurvivalGamesCommand;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerJoinedGameEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
 import javax.annotation.Nonnull;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -68,7 +70,11 @@ class AddPlayerCommand extends LeafCommand {
             throw new CommandException(Text.of("State must be " + SurvivalGameState.READY));
         }
 
-        survivalGame.addPlayer(player);
+        if (!survivalGame.containsPlayer(player.getUniqueId())) {
+            survivalGame.addPlayer(player);
+            Sponge.getEventManager().post(
+                    new PlayerJoinedGameEvent(Sponge.getCauseStackManager().getCurrentCause(), survivalGame, player));
+        }
         sendSuccess(src, "Player added", player.getName());
         return CommandResult.success();
     }
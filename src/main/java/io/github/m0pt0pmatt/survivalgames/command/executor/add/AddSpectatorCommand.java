@@ -34,6 +34,7 @@ import io.github.m0pt0pmatt.survivalgames.command.executor.LeafCommand;
 import io.github.m0pt0pmatt.survivalgames.command.executor.SurvivalGamesCommand;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import io.github.m0pt0pmatt.survivalgames.matchmaking.MatchmakingQueue;
 import javax.annotation.Nonnull;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
@@ -69,6 +70,7 @@ class AddSpectatorCommand extends LeafCommand {
         }
 
         survivalGame.addSpectator(player);
+        MatchmakingQueue.remove(player.getUniqueId());
         sendSuccess(src, "Player added", player.getName());
         return CommandResult.success();
     }
@@ -43,6 +43,8 @@ public class PrintCommand extends ParentCommand {
                         .add(PrintExitVectorCommand.getInstance())
                         .add(PrintExitWorldNameCommand.getInstance())
                         .add(PrintMobSpawnAreasCommand.getInstance())
+                        .add(PrintMobStatsCommand.getInstance())
+                        .add(PrintTimersCommand.getInstance())
                         .add(PrintPlayerLimitCommand.getInstance())
                         .add(PrintPlayersCommand.getInstance())
                         .add(PrintSpawnsCommand.getInstance())
@@ -31,9 +31,11 @@ import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.command.element.SurvivalGameCommandElement;
 import io.github.m0pt0pmatt.survivalgames.command.executor.LeafCommand;
 import io.github.m0pt0pmatt.survivalgames.command.executor.SurvivalGamesCommand;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerLeftGameEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
 import javax.annotation.Nonnull;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -77,6 +79,8 @@ class RemovePlayerCommand extends LeafCommand {
         }
 
         survivalGame.removePlayer(player.getUniqueId());
+        Sponge.getEventManager().post(
+                new PlayerLeftGameEvent(Sponge.getCauseStackManager().getCurrentCause(), survivalGame, player));
 
         src.sendMessage(Text.of("Removed player", player.getName()));
         return CommandResult.success();
@@ -62,7 +62,7 @@ public class SetBlocksCommand extends LeafCommand {
         SurvivalGame survivalGame = (SurvivalGame) getOrThrow(args, CommandKeys.SURVIVAL_GAME);
 
         ProgressBuilder.builder(src, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
-                .runSync(new SetBlocksProgressable(survivalGame), "Setting Blocks", Duration.of(600, ChronoUnit.SECONDS))
+                .runAsync(new SetBlocksProgressable(survivalGame), "Setting Blocks", null)
                 .runSync(new BlankProgressable(() -> sendSuccess(src, "Set map blocks and command blocks")), "", Duration.of(600, ChronoUnit.SECONDS))
                 .start();
 
@@ -0,0 +1,259 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.commandblock;
+
+import com.google.common.collect.ImmutableList;
+import io.github.m0pt0pmatt.survivalgames.event.SurvivalGameEvent;
+import io.github.m0pt0pmatt.survivalgames.game.TimingWheel;
+import org.apache.commons.lang3.ClassUtils;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.block.tileentity.CommandBlock;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The command blocks of a game, compiled by the event they listen to. Looking up the command blocks
+ * to fire for an event class is a single map lookup once that class has been seen. Command blocks
+ * which a player has opened for editing are watched for a while, since their command can be edited
+ * without any event, and are read again every second from a timer on the game's timing wheel. Used
+ * on the main thread.
+ */
+public final class CommandBlockIndex {
+
+    private static final String COMMAND_BLOCK_STRING = "/ssg event ";
+    private static final List<Class<?>> SURVIVAL_GAME_CLASSES = ClassUtils.getAllSuperclasses(SurvivalGameEvent.class);
+    private static final Map<Class<?>, List<String>> EVENT_NAMES = new ConcurrentHashMap<>();
+    private static final long WATCH_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long TICK_MILLIS = 50;
+
+    private final Map<Location<World>, CommandBlockTarget> byLocation = new HashMap<>();
+    private final Map<String, List<CommandBlockTarget>> byEventName = new HashMap<>();
+    private final Map<Class<?>, List<CommandBlockTarget>> byEventClass = new HashMap<>();
+    private final Map<Location<World>, Watch> watched = new HashMap<>();
+    private final TimingWheel timingWheel;
+    private TimingWheel.Timer watchTask;
+
+    public CommandBlockIndex(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
+    public int size() {
+        return byLocation.size();
+    }
+
+    public void clear() {
+        watched.clear();
+        stopWatchTask();
+        byLocation.clear();
+        byEventName.clear();
+        byEventClass.clear();
+    }
+
+    public boolean contains(Location<World> location) {
+        return byLocation.containsKey(location);
+    }
+
+    public Collection<CommandBlockTarget> values() {
+        return byLocation.values();
+    }
+
+    /**
+     * Compiles a command block, replacing whatever was compiled at its location. Command blocks which
+     * do not listen to an event are left out.
+     *
+     * @param commandBlock The command block.
+     */
+    public void put(CommandBlock commandBlock) {
+        remove(commandBlock.getLocation());
+
+        Value<String> storedCommand = commandBlock.storedCommand();
+        if (!storedCommand.exists()) {
+            return;
+        }
+
+        String[] parts = storedCommand.get().trim().split("\\s+");
+        if (parts.length < 3) {
+            return;
+        }
+
+        if (!parts[0].equalsIgnoreCase("/ssg") || !parts[1].equalsIgnoreCase("event")) {
+            return;
+        }
+
+        String command = parts.length > 3 ? storedCommand.get().substring(COMMAND_BLOCK_STRING.length()) : null;
+        CommandBlockTarget target = new CommandBlockTarget(commandBlock, parts[2], command);
+
+        byLocation.put(commandBlock.getLocation(), target);
+        List<CommandBlockTarget> targets = byEventName.get(target.getEventName());
+        if (targets == null) {
+            targets = new ArrayList<>();
+            byEventName.put(target.getEventName(), targets);
+        }
+        targets.add(target);
+        byEventClass.clear();
+    }
+
+    /**
+     * Watches a command block which is being edited through its screen. The block is read again on
+     * the next tick and then every second, until its command changes or a minute has passed.
+     *
+     * @param commandBlock The command block.
+     */
+    public void watch(CommandBlock commandBlock) {
+        watched.put(commandBlock.getLocation(), new Watch(getStoredCommand(commandBlock), System.nanoTime() + WATCH_NANOS));
+
+        if (watchTask == null || watchTask.isCancelled()) {
+            watchTask = timingWheel.scheduleAtFixedRate(this::refreshWatched, TICK_MILLIS, 1000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Compiles the watched command blocks again if their command changed, and drops the ones done with. */
+    private void refreshWatched() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Location<World>, Watch>> iterator = watched.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Location<World>, Watch> entry = iterator.next();
+            Watch watch = entry.getValue();
+            Optional<TileEntity> tileEntity = entry.getKey().getTileEntity();
+            if (!tileEntity.isPresent() || !(tileEntity.get() instanceof CommandBlock)) {
+                // Pulsing command blocks are a redstone torch for a moment, so only a broken one is forgotten.
+                if (!entry.getKey().getBlockType().equals(BlockTypes.REDSTONE_TORCH)) {
+                    remove(entry.getKey());
+                    iterator.remove();
+                } else if (watch.expiry - now <= 0) {
+                    iterator.remove();
+                }
+                continue;
+            }
+
+            CommandBlock commandBlock = (CommandBlock) tileEntity.get();
+            if (!getStoredCommand(commandBlock).equals(watch.command)) {
+                put(commandBlock);
+                iterator.remove();
+            } else if (watch.expiry - now <= 0) {
+                iterator.remove();
+            }
+        }
+
+        if (watched.isEmpty()) {
+            stopWatchTask();
+        }
+    }
+
+    private void stopWatchTask() {
+        if (watchTask != null) {
+            watchTask.cancel();
+            watchTask = null;
+        }
+    }
+
+    private static String getStoredCommand(CommandBlock commandBlock) {
+        Value<String> storedCommand = commandBlock.storedCommand();
+        return storedCommand.exists() ? storedCommand.get() : "";
+    }
+
+    /**
+     * Forgets the command block at a location.
+     *
+     * @param location The location.
+     */
+    public void remove(Location<World> location) {
+        CommandBlockTarget target = byLocation.remove(location);
+        if (target == null) {
+            return;
+        }
+
+        List<CommandBlockTarget> targets = byEventName.get(target.getEventName());
+        targets.remove(target);
+        if (targets.isEmpty()) {
+            byEventName.remove(target.getEventName());
+        }
+        byEventClass.clear();
+    }
+
+    /**
+     * Gets the command blocks listening to an event class or any of its superclasses.
+     *
+     * @param eventClass The event class.
+     * @return The command blocks.
+     */
+    public List<CommandBlockTarget> getTargets(Class<? extends SurvivalGameEvent> eventClass) {
+        List<CommandBlockTarget> targets = byEventClass.get(eventClass);
+        if (targets == null) {
+            ImmutableList.Builder<CommandBlockTarget> builder = ImmutableList.builder();
+            for (String eventName : getEventNames(eventClass)) {
+                List<CommandBlockTarget> named = byEventName.get(eventName);
+                if (named != null) {
+                    builder.addAll(named);
+                }
+            }
+            targets = builder.build();
+            byEventClass.put(eventClass, targets);
+        }
+        return targets;
+    }
+
+    /** The simple names of an event class and its superclasses, up to {@link SurvivalGameEvent}. */
+    private static List<String> getEventNames(Class<?> eventClass) {
+        List<String> names = EVENT_NAMES.get(eventClass);
+        if (names == null) {
+            ImmutableList.Builder<String> builder = ImmutableList.builder();
+            builder.add(eventClass.getSimpleName());
+            for (Class<?> superclass : ClassUtils.getAllSuperclasses(eventClass)) {
+                if (!SURVIVAL_GAME_CLASSES.contains(superclass)) {
+                    builder.add(superclass.getSimpleName());
+                }
+            }
+            names = builder.build();
+            EVENT_NAMES.put(eventClass, names);
+        }
+        return names;
+    }
+
+    /** A command block's command when it was opened, and when to stop watching it. */
+    private static final class Watch {
+
+        private final String command;
+        private final long expiry;
+
+        private Watch(String command, long expiry) {
+            this.command = command;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.commandblock;
+
+import io.github.m0pt0pmatt.survivalgames.game.TimingWheel;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Powers a game's command blocks by briefly swapping them for a redstone torch. A trigger on a block
+ * which is already pulsing is merged into that pulse, and every pulse which has run its course is
+ * restored from one repeating timer on the game's timing wheel. The table of original blocks only holds blocks which are
+ * pulsing. Used on the main thread.
+ */
+public final class PulseEngine {
+
+    private static final long PULSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long TICK_MILLIS = 50;
+    private static final BlockState TORCH = BlockState.builder().blockType(BlockTypes.REDSTONE_TORCH).build();
+
+    /** Pulses all last the same time, so insertion order is expiry order. */
+    private final Map<Location<World>, Pulse> pulses = new LinkedHashMap<>();
+    private final TimingWheel timingWheel;
+    private TimingWheel.Timer task;
+
+    public PulseEngine(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
+    public int size() {
+        return pulses.size();
+    }
+
+    /**
+     * Pulses the block at a location, unless it is already pulsing.
+     *
+     * @param location The location of the command block.
+     */
+    public void pulse(Location<World> location) {
+        if (pulses.containsKey(location)) {
+            return;
+        }
+
+        pulses.put(location, new Pulse(location.createSnapshot(), System.nanoTime() + PULSE_NANOS));
+        location.setBlock(TORCH, BlockChangeFlags.ALL);
+
+        if (task == null) {
+            task = timingWheel.scheduleAtFixedRate(
+                    this::restoreExpired, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Restores every pulsing block now. */
+    public void restoreAll() {
+        for (Pulse pulse : pulses.values()) {
+            pulse.original.restore(true, BlockChangeFlags.ALL);
+        }
+        pulses.clear();
+        stopTask();
+    }
+
+    private void restoreExpired() {
+        long now = System.nanoTime();
+        Iterator<Pulse> iterator = pulses.values().iterator();
+        while (iterator.hasNext()) {
+            Pulse pulse = iterator.next();
+            if (pulse.expiry - now > 0) {
+                break;
+            }
+            pulse.original.restore(true, BlockChangeFlags.ALL);
+            iterator.remove();
+        }
+
+        if (pulses.isEmpty()) {
+            stopTask();
+        }
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static final class Pulse {
+
+        private final BlockSnapshot original;
+        private final long expiry;
+
+        private Pulse(BlockSnapshot original, long expiry) {
+            this.original = original;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import static java.lang.Double.max;
 import static java.lang.Double.min;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
 import java.util.Optional;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
@@ -54,6 +55,26 @@ public class Area {
         return getLesserBoundary();
     }
 
+    /**
+     * Checks if a block is inside the area, with the same bounds as the arena snapshot: lesser
+     * inclusive, greater exclusive.
+     *
+     * @param position The block position.
+     * @return True if the block is inside the area.
+     */
+    public boolean contains(Vector3i position) {
+        Optional<Vector3d> lesser = getLesserBoundary();
+        Optional<Vector3d> greater = getGreaterBoundary();
+        if (!lesser.isPresent() || !greater.isPresent()) {
+            return false;
+        }
+
+        Vector3i min = lesser.get().floor().toInt();
+        Vector3i max = greater.get().floor().toInt();
+        return position.getX() >= min.getX() && position.getY() >= min.getY() && position.getZ() >= min.getZ()
+                && position.getX() < max.getX() && position.getY() < max.getY() && position.getZ() < max.getZ();
+    }
+
     public void addBoundaryVector(Vector3d vector3i) {
 
         if (vector3i == null) {
@@ -26,19 +26,24 @@
 package io.github.m0pt0pmatt.survivalgames.data;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
 import ninja.leaping.configurate.objectmapping.ObjectMapper;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
-import org.spongepowered.api.block.BlockSnapshot;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Config for a Survival Game. All configurable fields are stored in this class. Getters return
@@ -49,6 +54,11 @@ public class GameConfig {
 
     private static final int DEFAULT_PLAYER_LIMIT = 4;
     private static final int DEFAULT_COUNTDOWN_SECONDS = 10;
+    public static final int DEFAULT_RESTORE_BUDGET_MILLIS = 10;
+    public static final int DEFAULT_MAX_LIVE_MOBS = 50;
+    public static final int DEFAULT_MOB_PLAYER_RADIUS = 32;
+    public static final int DEFAULT_MOB_DESPAWN_SECONDS = 30;
+    public static final int DEFAULT_SPAWN_CHEST_RADIUS = 16;
 
     public static final ObjectMapper<GameConfig> OBJECT_MAPPER;
 
@@ -108,16 +118,76 @@ public class GameConfig {
     @Setting(value = "mobSpawnAreas")
     private final List<MobSpawnArea> mobSpawnAreas = Lists.newArrayList();
 
+    @Setting(value = "max-live-mobs", comment = "The most mobs from all mob spawn areas alive at once.")
+    private Integer maxLiveMobs;
+
+    @Setting(value = "mob-player-radius", comment = "Mobs only spawn within this many blocks of a player. 0 spawns them anywhere.")
+    private Integer mobPlayerRadius;
+
+    @Setting(value = "mob-despawn-seconds", comment = "Mobs which stay farther than mob-player-radius from every player for this long are despawned.")
+    private Integer mobDespawnSeconds;
+
     @Setting(value = "event-intervals")
     private final Map<String, Integer> eventIntervals = Maps.newHashMap();
 
-    // @Setting(value = "blocks")
-    // Do not save blocks yet: this needs to be replaced with a more scalable solution.
-    private List<BlockSnapshot> blocks = Lists.newArrayList();
+    @Setting(
+        value = "restore-budget-millis",
+        comment = "The number of milliseconds per tick spent restoring or capturing blocks, or filling chests."
+    )
+    private Integer restoreBudgetMillis;
+
+    @Setting(
+        value = "reset-strategy",
+        comment = "How the arena is reset: RESTORE_BLOCKS restores the arena snapshot, CLONE_WORLD copies the world from a template."
+    )
+    private ResetStrategy resetStrategy;
+
+    @Setting(
+        value = "template-directory",
+        comment = "The directory, relative to the plugin config directory, holding the template region files used by CLONE_WORLD."
+    )
+    private String templateDirectory;
+
+    @Setting(
+        value = "restore-mode",
+        comment = "How blocks are restored: BLOCK restores block by block, BULK restores chunk by chunk without physics."
+    )
+    private RestoreMode restoreMode;
+
+    @Setting(
+        value = "chest-fill-mode",
+        comment = "When chests are filled: EAGER fills every chest at start, LAZY fills each chest when it is first opened."
+    )
+    private ChestFillMode chestFillMode;
+
+    @Setting(
+        value = "spawn-chest-radius",
+        comment = "Chests within this many blocks of a spawn point are filled before the game starts. The rest fill over the next ticks."
+    )
+    private Integer spawnChestRadius;
+
+    @Setting(
+        value = "chest-positions",
+        comment = "The chests inside the block area, found when the block area snapshot is taken."
+    )
+    private List<Vector3i> chestPositions;
+
+    // Lookups for chestPositions, which is null until the block area has been indexed
+    private Set<Vector3i> chestPositionSet;
+
+    // Not a @Setting: the snapshot is too large for HOCON.
+    private ArenaSnapshot arenaSnapshot;
 
     public GameConfig() {
         setPlayerLimit(DEFAULT_PLAYER_LIMIT);
         setCountdownSeconds(DEFAULT_COUNTDOWN_SECONDS);
+        setRestoreBudgetMillis(DEFAULT_RESTORE_BUDGET_MILLIS);
+        setResetStrategy(ResetStrategy.RESTORE_BLOCKS);
+        setRestoreMode(RestoreMode.BLOCK);
+        setMaxLiveMobs(DEFAULT_MAX_LIVE_MOBS);
+        setMobPlayerRadius(DEFAULT_MOB_PLAYER_RADIUS);
+        setMobDespawnSeconds(DEFAULT_MOB_DESPAWN_SECONDS);
+        setSpawnChestRadius(DEFAULT_SPAWN_CHEST_RADIUS);
         spawnPoints = new ArrayList<>();
     }
 
@@ -211,15 +281,119 @@ public class GameConfig {
         return mobSpawnAreas;
     }
 
+    public Optional<Integer> getMaxLiveMobs() {
+        return Optional.ofNullable(maxLiveMobs);
+    }
+
+    public void setMaxLiveMobs(Integer maxLiveMobs) {
+        this.maxLiveMobs = maxLiveMobs;
+    }
+
+    public Optional<Integer> getMobPlayerRadius() {
+        return Optional.ofNullable(mobPlayerRadius);
+    }
+
+    public void setMobPlayerRadius(Integer mobPlayerRadius) {
+        this.mobPlayerRadius = mobPlayerRadius;
+    }
+
+    public Optional<Integer> getMobDespawnSeconds() {
+        return Optional.ofNullable(mobDespawnSeconds);
+    }
+
+    public void setMobDespawnSeconds(Integer mobDespawnSeconds) {
+        this.mobDespawnSeconds = mobDespawnSeconds;
+    }
+
     public Map<String, Integer> getEventIntervals() {
         return eventIntervals;
     }
 
-    public List<BlockSnapshot> getBlocks() {
-        return blocks;
+    public Optional<Integer> getRestoreBudgetMillis() {
+        return Optional.ofNullable(restoreBudgetMillis);
+    }
+
+    public void setRestoreBudgetMillis(Integer restoreBudgetMillis) {
+        this.restoreBudgetMillis = restoreBudgetMillis;
+    }
+
+    public Optional<ResetStrategy> getResetStrategy() {
+        return Optional.ofNullable(resetStrategy);
+    }
+
+    public void setResetStrategy(ResetStrategy resetStrategy) {
+        this.resetStrategy = resetStrategy;
+    }
+
+    public Optional<String> getTemplateDirectory() {
+        return Optional.ofNullable(templateDirectory);
+    }
+
+    public void setTemplateDirectory(String templateDirectory) {
+        this.templateDirectory = templateDirectory;
+    }
+
+    public Optional<RestoreMode> getRestoreMode() {
+        return Optional.ofNullable(restoreMode);
+    }
+
+    public void setRestoreMode(RestoreMode restoreMode) {
+        this.restoreMode = restoreMode;
+    }
+
+    public Optional<ChestFillMode> getChestFillMode() {
+        return Optional.ofNullable(chestFillMode);
+    }
+
+    public void setChestFillMode(ChestFillMode chestFillMode) {
+        this.chestFillMode = chestFillMode;
+    }
+
+    public Optional<Integer> getSpawnChestRadius() {
+        return Optional.ofNullable(spawnChestRadius);
+    }
+
+    public void setSpawnChestRadius(Integer spawnChestRadius) {
+        this.spawnChestRadius = spawnChestRadius;
+    }
+
+    /**
+     * Gets the chests inside the block area.
+     *
+     * @return The chest positions, if the block area has been indexed.
+     */
+    public Optional<Set<Vector3i>> getChestPositions() {
+        if (chestPositions == null) {
+            return Optional.empty();
+        }
+        if (chestPositionSet == null) {
+            chestPositionSet = new LinkedHashSet<>(chestPositions);
+        }
+        return Optional.of(Collections.unmodifiableSet(chestPositionSet));
+    }
+
+    public void setChestPositions(Collection<Vector3i> chestPositions) {
+        this.chestPositionSet = new LinkedHashSet<>(chestPositions);
+        this.chestPositions = new ArrayList<>(chestPositionSet);
+    }
+
+    public void addChestPosition(Vector3i position) {
+        if (getChestPositions().isPresent() && chestPositionSet.add(position)) {
+            chestPositions.add(position);
+        }
+    }
+
+    public void removeChestPosition(Vector3i position) {
+        if (getChestPositions().isPresent() && chestPositionSet.remove(position)) {
+            chestPositions.remove(position);
+        }
+    }
+
+    public Optional<ArenaSnapshot> getArenaSnapshot() {
+        return Optional.ofNullable(arenaSnapshot);
     }
 
-    public void setBlocks(List<BlockSnapshot> blocks) {
-        this.blocks = blocks;
+    public void setArenaSnapshot(ArenaSnapshot arenaSnapshot) {
+        this.arenaSnapshot = arenaSnapshot;
     }
 }
@@ -26,6 +26,8 @@
 package io.github.m0pt0pmatt.survivalgames.data;
 
 import com.google.common.collect.Lists;
+import io.github.m0pt0pmatt.survivalgames.loot.LootTable;
+import java.util.ArrayList;
 import java.util.List;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
@@ -37,7 +39,52 @@ public class ItemConfig {
     @Setting(value = "items")
     private final List<ItemStackSnapshot> items = Lists.newArrayList();
 
+    @Setting(value = "loot", comment = "Weighted loot entries. Each of the items above is added as a common entry of weight 1.")
+    private final List<LootEntry> loot = Lists.newArrayList();
+
+    // Not a @Setting: compiled from the items and loot entries.
+    private LootTable lootTable;
+
     public List<ItemStackSnapshot> getItems() {
         return items;
     }
+
+    public List<LootEntry> getLoot() {
+        return loot;
+    }
+
+    /**
+     * Gets the loot table, compiling it on first use. Call {@link #invalidateLootTable()} after
+     * changing the items or loot entries.
+     *
+     * @return The loot table.
+     */
+    public synchronized LootTable getLootTable() {
+        if (lootTable == null) {
+            List<LootEntry> entries = new ArrayList<>(items.size() + loot.size());
+            for (ItemStackSnapshot item : items) {
+                LootEntry entry = new LootEntry();
+                entry.setItem(item);
+                entries.add(entry);
+            }
+            entries.addAll(loot);
+            lootTable = LootTable.compile(entries);
+        }
+        return lootTable;
+    }
+
+    public synchronized void invalidateLootTable() {
+        lootTable = null;
+    }
+
+    /**
+     * Compiles the loot table again from the items and loot entries, so a broken entry is found now
+     * rather than when the chests are filled.
+     *
+     * @return The loot table.
+     */
+    public synchronized LootTable rebuildLootTable() {
+        invalidateLootTable();
+        return getLootTable();
+    }
 }
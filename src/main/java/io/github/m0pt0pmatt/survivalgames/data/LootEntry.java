@@ -0,0 +1,90 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.data;
+
+import java.util.Optional;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+
+@ConfigSerializable
+public class LootEntry {
+
+    @Setting(value = "item")
+    private ItemStackSnapshot item;
+
+    @Setting(value = "weight", comment = "How likely this entry is to be picked, relative to the other entries.")
+    private Double weight;
+
+    @Setting(value = "min-quantity", comment = "The smallest stack size. Defaults to the quantity of the item.")
+    private Integer minQuantity;
+
+    @Setting(value = "max-quantity", comment = "The largest stack size. Defaults to the min quantity.")
+    private Integer maxQuantity;
+
+    @Setting(value = "rarity", comment = "COMMON, UNCOMMON, RARE or LEGENDARY. Rarer tiers scale the weight down.")
+    private LootRarity rarity;
+
+    public Optional<ItemStackSnapshot> getItem() {
+        return Optional.ofNullable(item);
+    }
+
+    public void setItem(ItemStackSnapshot item) {
+        this.item = item;
+    }
+
+    public Optional<Double> getWeight() {
+        return Optional.ofNullable(weight);
+    }
+
+    public void setWeight(Double weight) {
+        this.weight = weight;
+    }
+
+    public Optional<Integer> getMinQuantity() {
+        return Optional.ofNullable(minQuantity);
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public Optional<Integer> getMaxQuantity() {
+        return Optional.ofNullable(maxQuantity);
+    }
+
+    public void setMaxQuantity(Integer maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+
+    public Optional<LootRarity> getRarity() {
+        return Optional.ofNullable(rarity);
+    }
+
+    public void setRarity(LootRarity rarity) {
+        this.rarity = rarity;
+    }
+}
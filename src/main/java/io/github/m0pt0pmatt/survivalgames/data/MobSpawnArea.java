@@ -43,6 +43,9 @@ public class MobSpawnArea extends Area {
     @Setting(value = "spawnRatePerMinute")
     private Integer spawnRatePerMinute;
 
+    @Setting(value = "maxLiveMobs", comment = "The most mobs from this area alive at once.")
+    private Integer maxLiveMobs;
+
     public void setId(UUID id) {
         this.id = id;
     }
@@ -66,4 +69,12 @@ public class MobSpawnArea extends Area {
     public void setSpawnRatePerMinute(Integer spawnRatePerMinute) {
         this.spawnRatePerMinute = spawnRatePerMinute;
     }
+
+    public Optional<Integer> getMaxLiveMobs() {
+        return Optional.ofNullable(maxLiveMobs);
+    }
+
+    public void setMaxLiveMobs(Integer maxLiveMobs) {
+        this.maxLiveMobs = maxLiveMobs;
+    }
 }
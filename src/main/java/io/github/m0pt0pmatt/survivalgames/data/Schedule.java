@@ -64,6 +64,9 @@ public class Schedule {
     @Setting(value = "deathMatchStages")
     private List<WorldBorderStage> deathMatchStages = new ArrayList<>();
 
+    @Setting(value = "refillStages")
+    private List<RefillStage> refillStages = new ArrayList<>();
+
     public Optional<Integer> getMinimumPlayerCount() {
         return Optional.ofNullable(minimumPlayerCount);
     }
@@ -111,4 +114,12 @@ public class Schedule {
     public void setDeathMatchStages(List<WorldBorderStage> deathMatchStages) {
         this.deathMatchStages = deathMatchStages;
     }
+
+    public List<RefillStage> getRefillStages() {
+        return refillStages;
+    }
+
+    public void setRefillStages(List<RefillStage> refillStages) {
+        this.refillStages = refillStages;
+    }
 }
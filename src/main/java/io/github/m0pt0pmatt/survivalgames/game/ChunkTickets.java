@@ -0,0 +1,94 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.game;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.world.ChunkTicketManager;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps chunks of a game loaded with chunk loading tickets, until closed. Once closed, no more
+ * chunks are held, so loads which finish late do not keep their chunk loaded. Used on the main
+ * thread.
+ */
+public final class ChunkTickets {
+
+    private final List<ChunkTicketManager.LoadingTicket> tickets = new ArrayList<>();
+    private boolean closed = false;
+    private boolean exhausted = false;
+    private volatile int heldChunks = 0;
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getHeldChunks() {
+        return heldChunks;
+    }
+
+    /**
+     * Keeps a chunk loaded. A new ticket is created whenever the current one is full.
+     *
+     * @param world The world.
+     * @param chunk The chunk position.
+     */
+    public void hold(World world, Vector3i chunk) {
+        if (closed || exhausted) {
+            return;
+        }
+
+        ChunkTicketManager.LoadingTicket ticket = tickets.isEmpty() ? null : tickets.get(tickets.size() - 1);
+        if (ticket == null || ticket.getChunkList().size() >= ticket.getMaxNumChunks()) {
+            Optional<ChunkTicketManager.LoadingTicket> created = Sponge.getServer().getChunkTicketManager().createTicket(SurvivalGamesPlugin.PLUGIN, world);
+            if (!created.isPresent()) {
+                SurvivalGamesPlugin.LOGGER.warn("Out of chunk loading tickets, {} chunks of {} are held", heldChunks, world.getName());
+                exhausted = true;
+                return;
+            }
+            ticket = created.get();
+            tickets.add(ticket);
+        }
+
+        ticket.forceChunk(chunk);
+        heldChunks++;
+    }
+
+    /** Releases every ticket. */
+    public void close() {
+        closed = true;
+        for (ChunkTicketManager.LoadingTicket ticket : tickets) {
+            ticket.release();
+        }
+        tickets.clear();
+        heldChunks = 0;
+    }
+}
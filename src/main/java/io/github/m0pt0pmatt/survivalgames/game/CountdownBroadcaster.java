@@ -0,0 +1,127 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.game;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.github.m0pt0pmatt.survivalgames.event.PostCountdownEvent;
+import io.github.m0pt0pmatt.survivalgames.event.PreCountdownEvent;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.effect.Viewer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.MessageReceiver;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.title.Title;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Counts down to the start of a game or deathmatch. Each title is built once and shown to everyone in
+ * the game's message channel from one repeating timer, which also posts the event ending the
+ * countdown.
+ */
+public final class CountdownBroadcaster implements Runnable {
+
+    private final SurvivalGame survivalGame;
+    private final List<Title> titles;
+    @Nullable private final PostCountdownEvent postEvent;
+    private volatile TimingWheel.Timer timer;
+    private int next;
+
+    private CountdownBroadcaster(
+            SurvivalGame survivalGame, List<Title> titles, @Nullable PostCountdownEvent postEvent) {
+        this.survivalGame = survivalGame;
+        this.titles = titles;
+        this.postEvent = postEvent;
+    }
+
+    /**
+     * Starts a countdown on the game's timing wheel.
+     *
+     * @param survivalGame The game.
+     * @param label What begins when the countdown ends.
+     * @param seconds The length of the countdown.
+     * @param preEvent The event to post before the countdown is scheduled.
+     * @param postEvent The event to post when the countdown ends.
+     */
+    public static void start(
+            SurvivalGame survivalGame, Text label, int seconds, @Nullable PreCountdownEvent preEvent, @Nullable PostCountdownEvent postEvent) {
+        checkNotNull(survivalGame, "survivalGame");
+
+        List<Title> titles = new ArrayList<>(seconds + 1);
+        for (int i = 0; i < seconds + 1; i++) {
+            titles.add(
+                    Title.builder()
+                            .fadeIn(5)
+                            .stay(20)
+                            .fadeOut(5)
+                            .title(Text.of(TextColors.RED, label, " begins in..."))
+                            .subtitle(Text.of(TextColors.RED, seconds - i))
+                            .build());
+        }
+
+        if (preEvent != null) {
+            Sponge.getEventManager().post(preEvent);
+        }
+
+        CountdownBroadcaster broadcaster = new CountdownBroadcaster(survivalGame, titles, postEvent);
+        broadcaster.timer = survivalGame.getTimingWheel().scheduleAtFixedRate(broadcaster, 0, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        if (next >= titles.size()) {
+            cancel();
+            return;
+        }
+
+        Title title = titles.get(next);
+        for (MessageReceiver receiver : survivalGame.getMessageChannel().getMembers()) {
+            if (receiver instanceof Viewer) {
+                ((Viewer) receiver).sendTitle(title);
+            }
+        }
+
+        next++;
+        if (next == titles.size()) {
+            if (postEvent != null) {
+                Sponge.getEventManager().post(postEvent);
+            }
+            cancel();
+        }
+    }
+
+    private void cancel() {
+        TimingWheel.Timer timer = this.timer;
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+}
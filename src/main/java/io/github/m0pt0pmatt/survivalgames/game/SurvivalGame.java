@@ -25,17 +25,23 @@
 
 package io.github.m0pt0pmatt.survivalgames.game;
 
+import com.flowpowered.math.vector.Vector3i;
 import io.github.m0pt0pmatt.survivalgames.Util;
+import io.github.m0pt0pmatt.survivalgames.commandblock.CommandBlockIndex;
+import io.github.m0pt0pmatt.survivalgames.commandblock.PulseEngine;
 import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.mobspawn.MobSpawnStats;
+import io.github.m0pt0pmatt.survivalgames.mobspawn.SpawnPositionCache;
 import io.github.m0pt0pmatt.survivalgames.scoreboard.ScoreboardRepository;
+import io.github.m0pt0pmatt.survivalgames.snapshot.BlockChangeJournal;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.tileentity.CommandBlock;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.format.TextColors;
 
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -47,16 +53,29 @@ public class SurvivalGame {
 
     SurvivalGameState state;
     SurvivalGameRunningState runningState;
+    boolean prewarmed;
 
     private final String name;
     private final GameConfig config;
     private final Set<UUID> playerUUIDs;
     private final Set<UUID> spectatorUUIDs;
-    private final Set<CommandBlock> commandBlocks;
+    private final CommandBlockIndex commandBlockIndex;
+    private final PulseEngine pulseEngine;
+    private final TimingWheel timingWheel;
     private final Set<UUID> activeMobSpawners;
     private final Set<UUID> activeEventIntervals;
     private final Map<UUID, PlayerRestorer> playerSnapshots;
+    private final Set<Vector3i> unfilledChests;
+    private final Set<UUID> ownedEntities;
+    private final List<SpawnPositionCache> spawnPositionCaches;
+    private final MobSpawnStats mobSpawnStats;
     private final MessageChannel messageChannel;
+    private final BlockChangeJournal blockChangeJournal;
+    private final Random random;
+    private volatile Future<?> blockRestore;
+    private volatile Future<?> worldClone;
+    private volatile Future<?> chestFill;
+    private ChunkTickets chunkTickets;
 
     public SurvivalGame(String name, GameConfig config) {
         this.name = checkNotNull(name);
@@ -65,10 +84,18 @@ public class SurvivalGame {
         this.config = checkNotNull(config);
         playerUUIDs = new HashSet<>();
         spectatorUUIDs = new HashSet<>();
-        commandBlocks = new HashSet<>();
+        timingWheel = new TimingWheel();
+        commandBlockIndex = new CommandBlockIndex(timingWheel);
+        pulseEngine = new PulseEngine(timingWheel);
         activeMobSpawners = new HashSet<>();
         activeEventIntervals = new HashSet<>();
         playerSnapshots = new HashMap<>();
+        unfilledChests = new HashSet<>();
+        ownedEntities = new HashSet<>();
+        spawnPositionCaches = new ArrayList<>();
+        mobSpawnStats = new MobSpawnStats();
+        blockChangeJournal = new BlockChangeJournal();
+        random = new Random();
         messageChannel = MessageChannel.combined(MessageChannel.TO_CONSOLE, () -> Stream.of(playerUUIDs, spectatorUUIDs)
                 .flatMap(Collection::stream)
                 .map(uuid -> Sponge.getServer().getPlayer(uuid))
@@ -97,12 +124,26 @@ public class SurvivalGame {
         return config;
     }
 
+    public boolean isPrewarmed() {
+        return prewarmed;
+    }
+
+    /**
+     * Gets the random source of this game, used for loot and anything else random within the game.
+     *
+     * @return The random source.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
     public void forEachPlayer(Consumer<? super UUID> action) {
         playerUUIDs.forEach(action);
     }
 
     public void addPlayer(Player player) {
         playerUUIDs.add(player.getUniqueId());
+        SurvivalGameRepository.addMember(player.getUniqueId(), this);
         sendMessage(Text.of(player.getName(), " joined the game"));
         ScoreboardRepository.get(this).ifPresent(s -> {
             s.getObjective("ssg-" + getName()).ifPresent(o -> o.getOrCreateScore(Text.of(player.getName())).setScore(0));
@@ -111,11 +152,14 @@ public class SurvivalGame {
     }
 
     public void clearPlayerUUIDs() {
+        List<UUID> players = new ArrayList<>(playerUUIDs);
         playerUUIDs.clear();
+        players.forEach(uuid -> SurvivalGameRepository.removeMember(uuid, this));
     }
 
     public void removePlayer(UUID uuid) {
         playerUUIDs.remove(uuid);
+        SurvivalGameRepository.removeMember(uuid, this);
     }
 
     public int getPlayerCount() {
@@ -132,6 +176,7 @@ public class SurvivalGame {
 
     public void addSpectator(Player player) {
         spectatorUUIDs.add(player.getUniqueId());
+        SurvivalGameRepository.addMember(player.getUniqueId(), this);
         messageChannel.send(Text.of(player.getName(), " now spectating the game"));
     }
 
@@ -141,14 +186,25 @@ public class SurvivalGame {
 
     public void removeSpectator(UUID uuid) {
         spectatorUUIDs.remove(uuid);
+        SurvivalGameRepository.removeMember(uuid, this);
     }
 
     public void clearSpectatorUUIDs() {
+        List<UUID> spectators = new ArrayList<>(spectatorUUIDs);
         spectatorUUIDs.clear();
+        spectators.forEach(uuid -> SurvivalGameRepository.removeMember(uuid, this));
     }
 
-    public Set<CommandBlock> getCommandBlocks() {
-        return commandBlocks;
+    public CommandBlockIndex getCommandBlockIndex() {
+        return commandBlockIndex;
+    }
+
+    public PulseEngine getPulseEngine() {
+        return pulseEngine;
+    }
+
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
     }
 
     public Set<UUID> getActiveMobSpawners() {
@@ -163,6 +219,116 @@ public class SurvivalGame {
         return playerSnapshots;
     }
 
+    public BlockChangeJournal getBlockChangeJournal() {
+        return blockChangeJournal;
+    }
+
+    /**
+     * Sets the block restore which is currently running, cancelling any previous one.
+     *
+     * @param blockRestore The running block restore.
+     */
+    public void setBlockRestore(Future<?> blockRestore) {
+        cancelBlockRestore();
+        this.blockRestore = blockRestore;
+    }
+
+    public boolean isBlockRestoreRunning() {
+        Future<?> running = blockRestore;
+        return running != null && !running.isDone();
+    }
+
+    public void cancelBlockRestore() {
+        Future<?> running = blockRestore;
+        if (running != null) {
+            running.cancel(false);
+            blockRestore = null;
+        }
+    }
+
+    /**
+     * Tracks a world clone, which unloads the world and replaces its region files. A clone cannot
+     * be stopped halfway, so it is only tracked, never cancelled.
+     *
+     * @param worldClone The running world clone.
+     */
+    public void setWorldClone(Future<?> worldClone) {
+        this.worldClone = worldClone;
+    }
+
+    /**
+     * Checks if the arena is still being reset, by a block restore or a world clone.
+     *
+     * @return True if a reset is running.
+     */
+    public boolean isResetRunning() {
+        Future<?> clone = worldClone;
+        return isBlockRestoreRunning() || clone != null && !clone.isDone();
+    }
+
+    /**
+     * Gets the positions of the chests which are filled when first opened.
+     *
+     * @return The chest positions.
+     */
+    public Set<Vector3i> getUnfilledChests() {
+        return unfilledChests;
+    }
+
+    /**
+     * Gets the entities created by this game, such as spawned mobs, dropped items and projectiles.
+     * They are removed directly when the game ends.
+     *
+     * @return The unique ids of the entities.
+     */
+    public Set<UUID> getOwnedEntities() {
+        return ownedEntities;
+    }
+
+    /**
+     * Gets the spawn positions of the mob spawn areas of the running game, kept up to date with block
+     * changes.
+     *
+     * @return The caches.
+     */
+    public List<SpawnPositionCache> getSpawnPositionCaches() {
+        return spawnPositionCaches;
+    }
+
+    public MobSpawnStats getMobSpawnStats() {
+        return mobSpawnStats;
+    }
+
+    public void setChestFill(Future<?> chestFill) {
+        cancelChestFill();
+        this.chestFill = chestFill;
+    }
+
+    public void cancelChestFill() {
+        Future<?> running = chestFill;
+        if (running != null) {
+            running.cancel(false);
+            chestFill = null;
+        }
+    }
+
+    /**
+     * Sets the tickets holding the chunks of this game loaded. The previous tickets are released.
+     *
+     * @param chunkTickets The tickets.
+     */
+    public void setChunkTickets(ChunkTickets chunkTickets) {
+        releaseChunkTickets();
+        this.chunkTickets = chunkTickets;
+    }
+
+    public void releaseChunkTickets() {
+        if (chunkTickets != null) {
+            chunkTickets.close();
+            chunkTickets = null;
+        }
+    }
+
     public MessageChannel getMessageChannel() {
         return messageChannel;
     }
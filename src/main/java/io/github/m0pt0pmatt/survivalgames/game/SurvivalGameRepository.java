@@ -28,6 +28,7 @@ package io.github.m0pt0pmatt.survivalgames.game;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /** The resting place for all Survival Games. */
@@ -35,6 +36,9 @@ public final class SurvivalGameRepository {
 
     private static final Map<String, SurvivalGame> MAP = new ConcurrentHashMap<>();
 
+    // The game each player or spectator is in, kept up to date by SurvivalGame
+    private static final Map<UUID, SurvivalGame> MEMBERS = new ConcurrentHashMap<>();
+
     private SurvivalGameRepository() {}
 
     public static void put(String name, SurvivalGame survivalGame) {
@@ -54,10 +58,39 @@ public final class SurvivalGameRepository {
     }
 
     public static SurvivalGame remove(String name) {
-        return MAP.remove(name);
+        SurvivalGame game = MAP.remove(name);
+        if (game != null) {
+            forgetMembers(game);
+        }
+        return game;
     }
 
     public static SurvivalGame remove(SurvivalGame game) {
-        return MAP.remove(game.getName());
+        return remove(game.getName());
+    }
+
+    /**
+     * Gets the game a player is playing or spectating, without looking through every game.
+     *
+     * @param uuid The player.
+     * @return The game, if the player is in one.
+     */
+    public static Optional<SurvivalGame> getGameOf(UUID uuid) {
+        return Optional.ofNullable(MEMBERS.get(uuid));
+    }
+
+    static void addMember(UUID uuid, SurvivalGame game) {
+        MEMBERS.put(uuid, game);
+    }
+
+    static void removeMember(UUID uuid, SurvivalGame game) {
+        if (!game.containsPlayer(uuid) && !game.containsSpectator(uuid)) {
+            MEMBERS.remove(uuid, game);
+        }
+    }
+
+    private static void forgetMembers(SurvivalGame game) {
+        game.forEachPlayer(uuid -> MEMBERS.remove(uuid, game));
+        game.forEachSpectator(uuid -> MEMBERS.remove(uuid, game));
     }
 }
@@ -25,6 +25,7 @@
 
 package io.github.m0pt0pmatt.survivalgames.game;
 
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
 import io.github.m0pt0pmatt.survivalgames.event.*;
 import io.github.m0pt0pmatt.survivalgames.task.*;
@@ -34,6 +35,7 @@ import org.spongepowered.api.util.TextMessageException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the transitions between states for Survival Games. Contains the knowledge of what tasks
@@ -44,15 +46,20 @@ public class SurvivalGameStateManager {
     private static final List<Task> READY_TASKS =
             Arrays.asList(
                     RestoreBlocksTask.getInstance(),
+                    CloneWorldTask.getInstance(),
                     CreateScoreboardTask.getInstance()
             );
 
-    private static final List<Task> START_TASKS =
+    // Tasks which do not depend on the players, run while the players wait in the lobby.
+    private static final List<Task> PREWARM_TASKS =
             Arrays.asList(
                     LoadChunksTask.getInstance(),
                     ClearEntitiesTask.getInstance(),
                     SetCommandBlocksTask.getInstance(),
-                    FillChestsTask.getInstance(),
+                    FillChestsTask.getInstance());
+
+    private static final List<Task> START_TASKS =
+            Arrays.asList(
                     CreateCageSnapshotsTask.getInstance(),
                     SnapshotPlayerTask.getInstance(),
                     SpawnPlayersTask.getInstance(),
@@ -79,12 +86,14 @@ public class SurvivalGameStateManager {
                     ClearPlayersTask.getInstance(),
                     StopMobSpawnersTask.getInstance(),
                     StopEventIntervalsTask.getInstance(),
+                    RemoveOwnedEntitiesTask.getInstance(),
                     CleanStateTask.getInstance());
 
     public static void ready(SurvivalGame survivalGame) {
         checkConfig(survivalGame.getConfig());
         try {
             SurvivalGameState oldState = survivalGame.getState();
+            survivalGame.prewarmed = false;
             executeTasks(READY_TASKS, survivalGame);
             survivalGame.state = SurvivalGameState.READY;
             survivalGame.runningState = SurvivalGameRunningState.STOPPED;
@@ -94,14 +103,65 @@ public class SurvivalGameStateManager {
         }
     }
 
+    /**
+     * Prepares the arena of a ready game before it starts, so starting only has to deal with the
+     * players. Does nothing if the game is already prepared, or while its arena is being reset by a
+     * block restore or a world clone, since the reset would undo the preparation. Must be called on
+     * the main thread.
+     *
+     * @param survivalGame The survival game.
+     */
+    public static void prewarm(SurvivalGame survivalGame) {
+        if (survivalGame.prewarmed
+                || survivalGame.getState() != SurvivalGameState.READY
+                || survivalGame.isResetRunning()) {
+            return;
+        }
+
+        checkConfig(survivalGame.getConfig());
+        try {
+            long start = System.nanoTime();
+            executeTasks(PREWARM_TASKS, survivalGame);
+            survivalGame.prewarmed = true;
+            SurvivalGamesPlugin.LOGGER.info("Prewarmed {} in {} ms on the main thread",
+                    survivalGame.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TextMessageException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts a ready game. Refuses to start while the arena is being reset by a block restore or a
+     * world clone, since the game would be played in an arena that is about to change, or in a world
+     * that is not loaded.
+     *
+     * @param survivalGame The survival game.
+     */
     public static void start(SurvivalGame survivalGame) {
+        if (survivalGame.isResetRunning()) {
+            throw new IllegalStateException("The arena of " + survivalGame.getName() + " is still being reset");
+        }
+
         checkConfig(survivalGame.getConfig());
         try {
+            long start = System.nanoTime();
             SurvivalGameState oldState = survivalGame.getState();
+
+            // Games started by command skip the lobby, so they are prepared here.
+            boolean prewarmed = survivalGame.prewarmed;
+            if (!prewarmed) {
+                executeTasks(PREWARM_TASKS, survivalGame);
+            }
+
             executeTasks(START_TASKS, survivalGame);
+            survivalGame.prewarmed = false;
             survivalGame.state = SurvivalGameState.RUNNING;
             survivalGame.runningState = SurvivalGameRunningState.IN_PROGRESS;
             Sponge.getEventManager().post(new GameStartedEvent(survivalGame, oldState));
+
+            SurvivalGamesPlugin.LOGGER.info("Started {} in {} ms on the main thread ({})",
+                    survivalGame.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    prewarmed ? "prewarmed in the lobby" : "not prewarmed");
         } catch (TextMessageException e) {
             e.printStackTrace();
         }
@@ -122,6 +182,7 @@ public class SurvivalGameStateManager {
         try {
             SurvivalGameState oldState = survivalGame.getState();
             executeTasks(STOP_TASKS, survivalGame);
+            survivalGame.prewarmed = false;
             survivalGame.state = SurvivalGameState.STOPPED;
             survivalGame.runningState = SurvivalGameRunningState.STOPPED;
             Sponge.getEventManager().post(new GameStoppedEvent(survivalGame, oldState));
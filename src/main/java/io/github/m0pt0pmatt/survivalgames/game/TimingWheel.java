@@ -0,0 +1,289 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.game;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.scheduler.SpongeExecutorService;
+import org.spongepowered.api.text.Text;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A hashed timing wheel holding every timer of a game. The wheel advances once per server tick and
+ * only runs while it has pending timers. Timers run on the main thread.
+ */
+public final class TimingWheel {
+
+    private static final int SLOTS = 64;
+    private static final int MASK = SLOTS - 1;
+    private static final long TICK_MILLIS = 50;
+
+    private final List<List<Timer>> slots = new ArrayList<>(SLOTS);
+    private final LongSupplier clock;
+    private final boolean driven;
+    private SpongeExecutorService.SpongeFuture driver;
+    private boolean running;
+    private long tick;
+    private int pending;
+    private int generation;
+    private long fired;
+    private long totalLatenessMillis;
+    private long maxLatenessMillis;
+
+    public TimingWheel() {
+        this(() -> Sponge.getServer().getRunningTimeTicks(), true);
+    }
+
+    /**
+     * Creates a wheel.
+     *
+     * @param clock The current server tick.
+     * @param driven Whether the wheel advances itself every tick, or only when {@link #advance()}
+     *     is called.
+     */
+    TimingWheel(LongSupplier clock, boolean driven) {
+        this.clock = clock;
+        this.driven = driven;
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Runs a task once after a delay.
+     *
+     * @param task The task.
+     * @param delay The delay.
+     * @param timeUnit The unit of the delay.
+     * @return The timer, which can be cancelled.
+     */
+    public Timer schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        return add(task, timeUnit.toMillis(delay), 0);
+    }
+
+    /**
+     * Runs a task after a delay and then every period until it is cancelled.
+     *
+     * @param task The task.
+     * @param initialDelay The delay before the first run.
+     * @param period The time between runs.
+     * @param timeUnit The unit of the delay and period.
+     * @return The timer, which can be cancelled.
+     */
+    public Timer scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit timeUnit) {
+        checkArgument(period > 0, "period must be positive");
+        return add(task, timeUnit.toMillis(initialDelay), Math.max(1, toTicks(timeUnit.toMillis(period))));
+    }
+
+    /** Drops every pending timer, including those which have come due but not run yet. */
+    public synchronized void cancelAll() {
+        for (List<Timer> slot : slots) {
+            for (Timer timer : slot) {
+                timer.cancelled = true;
+            }
+            slot.clear();
+        }
+        generation++;
+        pending = 0;
+        stopDriver();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets how many timers have fired and how late they fired, for monitoring.
+     *
+     * @return The metrics.
+     */
+    public synchronized Text toText() {
+        long average = fired == 0 ? 0 : totalLatenessMillis / fired;
+        return Text.of(pending, " pending, ", fired, " fired, ", average, " ms late on average, ", maxLatenessMillis, " ms late at most");
+    }
+
+    private synchronized Timer add(Runnable task, long delayMillis, long periodTicks) {
+        if (!running) {
+            tick = clock.getAsLong();
+            startDriver();
+        }
+
+        Timer timer = new Timer(this, checkNotNull(task, "task"), periodTicks, generation);
+        timer.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        timer.deadline = tick + Math.max(1, toTicks(delayMillis));
+        slots.get((int) (timer.deadline & MASK)).add(timer);
+        pending++;
+        return timer;
+    }
+
+    private synchronized void cancel(Timer timer) {
+        if (isLive(timer)) {
+            pending--;
+        }
+        timer.cancelled = true;
+    }
+
+    /** Moves the wheel up to the current server tick, running every timer which has come due. */
+    void advance() {
+        List<Timer> due = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.getAsLong();
+            while (tick < now) {
+                tick++;
+                Iterator<Timer> iterator = slots.get((int) (tick & MASK)).iterator();
+                while (iterator.hasNext()) {
+                    Timer timer = iterator.next();
+                    if (!isLive(timer)) {
+                        iterator.remove();
+                    } else if (timer.deadline <= tick) {
+                        iterator.remove();
+                        due.add(timer);
+                    }
+                }
+            }
+        }
+
+        for (Timer timer : due) {
+            if (!begin(timer)) {
+                continue;
+            }
+            try {
+                timer.task.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            reschedule(timer);
+        }
+
+        synchronized (this) {
+            if (pending == 0) {
+                stopDriver();
+            }
+        }
+    }
+
+    /**
+     * Records a due timer as fired and retires it if it only runs once, so that anything the task
+     * schedules or cancels is counted on its own.
+     *
+     * @return False if the timer was cancelled after it came due.
+     */
+    private synchronized boolean begin(Timer timer) {
+        if (!isLive(timer)) {
+            return false;
+        }
+
+        record(timer);
+        if (timer.periodTicks == 0) {
+            timer.cancelled = true;
+            pending--;
+        }
+        return true;
+    }
+
+    private synchronized void record(Timer timer) {
+        long lateness = Math.max(0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timer.dueNanos));
+        fired++;
+        totalLatenessMillis += lateness;
+        maxLatenessMillis = Math.max(maxLatenessMillis, lateness);
+    }
+
+    private synchronized void reschedule(Timer timer) {
+        if (!isLive(timer)) {
+            return;
+        }
+
+        timer.deadline = Math.max(timer.deadline + timer.periodTicks, tick + 1);
+        timer.dueNanos += TimeUnit.MILLISECONDS.toNanos(timer.periodTicks * TICK_MILLIS);
+        slots.get((int) (timer.deadline & MASK)).add(timer);
+    }
+
+    private synchronized boolean isCancelled(Timer timer) {
+        return !isLive(timer);
+    }
+
+    private boolean isLive(Timer timer) {
+        return !timer.cancelled && timer.generation == generation;
+    }
+
+    private void startDriver() {
+        running = true;
+        if (driven) {
+            driver = SurvivalGamesPlugin.SYNC_EXECUTOR.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void stopDriver() {
+        running = false;
+        if (driver != null) {
+            driver.cancel(false);
+            driver = null;
+        }
+    }
+
+    private static long toTicks(long millis) {
+        return (millis + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    /** A task waiting on the wheel. */
+    public static final class Timer {
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long periodTicks;
+        private final int generation;
+        private long deadline;
+        private long dueNanos;
+        private boolean cancelled;
+
+        private Timer(TimingWheel wheel, Runnable task, long periodTicks, int generation) {
+            this.wheel = wheel;
+            this.task = task;
+            this.periodTicks = periodTicks;
+            this.generation = generation;
+        }
+
+        public void cancel() {
+            wheel.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            return wheel.isCancelled(this);
+        }
+    }
+}
@@ -25,56 +25,39 @@
 
 package io.github.m0pt0pmatt.survivalgames.interval;
 
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.event.IntervalEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.TimingWheel;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockSnapshot;
-import org.spongepowered.api.scheduler.SpongeExecutorService;
-import org.spongepowered.api.world.Location;
-import org.spongepowered.api.world.World;
 
 public final class ActiveIntervalRepository {
 
-    private static final Map<UUID, SpongeExecutorService.SpongeFuture> FUTURE_MAP =
-            new ConcurrentHashMap<>();
-
-    private static final Map<Location<World>, BlockSnapshot> BLOCK_MAP =
+    private static final Map<UUID, TimingWheel.Timer> TIMER_MAP =
             new ConcurrentHashMap<>();
 
     private ActiveIntervalRepository() {}
 
     public static UUID start(SurvivalGame survivalGame, String intervalName, int intervalSeconds) {
 
-        SpongeExecutorService.SpongeFuture future = SurvivalGamesPlugin.SYNC_EXECUTOR.scheduleAtFixedRate(
+        TimingWheel.Timer timer = survivalGame.getTimingWheel().scheduleAtFixedRate(
                 () -> Sponge.getEventManager().post(new IntervalEvent(survivalGame, intervalName)),
                 0,
                 intervalSeconds,
                 TimeUnit.SECONDS);
 
         UUID uuid = UUID.randomUUID();
-        FUTURE_MAP.put(uuid, future);
+        TIMER_MAP.put(uuid, timer);
         return uuid;
     }
 
     public static void stop(UUID uuid) {
-        SpongeExecutorService.SpongeFuture future = FUTURE_MAP.remove(uuid);
-        if (future != null) {
-            future.cancel(true);
-        }
-    }
-
-    public static BlockSnapshot getSnapshot(Location<World> location) {
-        BlockSnapshot blockSnapshot = BLOCK_MAP.get(location);
-        if (blockSnapshot == null) {
-            blockSnapshot = location.createSnapshot();
-            BLOCK_MAP.put(location, blockSnapshot);
+        TimingWheel.Timer timer = TIMER_MAP.remove(uuid);
+        if (timer != null) {
+            timer.cancel();
         }
-
-        return blockSnapshot;
     }
 }
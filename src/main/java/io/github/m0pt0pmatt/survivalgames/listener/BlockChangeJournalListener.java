@@ -0,0 +1,115 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.listener;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.world.ExplosionEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/** Records block changes inside each game's arena in the game's block change journal. */
+public class BlockChangeJournalListener {
+
+    private static final BlockChangeJournalListener INSTANCE = new BlockChangeJournalListener();
+
+    private BlockChangeJournalListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onChangeBlock(ChangeBlockEvent event) {
+
+        // Blocks set by this plugin are either restored by the plugin itself, or journaled by the task
+        // setting them. Recording them here would fill the journal while a reset is running.
+        if (isCausedByPlugin(event.getCause())) {
+            return;
+        }
+
+        for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+            transaction.getOriginal().getLocation().ifPresent(location -> record(location.getExtent().getName(), location.getBlockPosition()));
+        }
+    }
+
+    /** Pistons announce the blocks they are about to move through the pre event. */
+    @Listener(order = Order.POST)
+    public void onChangeBlockPre(ChangeBlockEvent.Pre event) {
+        if (!isCausedByPlugin(event.getCause())) {
+            record(event.getLocations());
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onExplosion(ExplosionEvent.Detonate event) {
+        record(event.getAffectedLocations());
+    }
+
+    private static boolean isCausedByPlugin(Cause cause) {
+        Optional<PluginContainer> plugin = Sponge.getPluginManager().fromInstance(SurvivalGamesPlugin.PLUGIN);
+        return plugin.isPresent() && plugin.get().equals(cause.root());
+    }
+
+    private static void record(Collection<Location<World>> locations) {
+        for (Location<World> location : locations) {
+            record(location.getExtent().getName(), location.getBlockPosition());
+        }
+    }
+
+    private static void record(String worldName, Vector3i position) {
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (!survivalGame.getBlockChangeJournal().isComplete()) {
+                continue;
+            }
+
+            ArenaSnapshot snapshot = survivalGame.getConfig().getArenaSnapshot().orElse(null);
+            if (snapshot == null || !snapshot.contains(position.getX(), position.getY(), position.getZ())) {
+                continue;
+            }
+
+            if (survivalGame.getConfig().getWorldName().filter(worldName::equals).isPresent()) {
+                survivalGame.getBlockChangeJournal().record(position);
+            }
+        }
+    }
+
+    public static BlockChangeJournalListener getInstance() {
+        return INSTANCE;
+    }
+}
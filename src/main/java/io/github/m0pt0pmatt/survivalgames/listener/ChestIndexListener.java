@@ -0,0 +1,100 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.listener;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.Optional;
+
+/** Keeps each stopped game's chest index up to date as chests are placed and broken in its block area. */
+public class ChestIndexListener {
+
+    private static final ChestIndexListener INSTANCE = new ChestIndexListener();
+
+    private ChestIndexListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onChangeBlock(ChangeBlockEvent event) {
+        for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+            if (!transaction.isValid()) {
+                continue;
+            }
+
+            boolean wasChest = isChest(transaction.getOriginal().getState().getType());
+            boolean isChest = isChest(transaction.getFinal().getState().getType());
+            if (wasChest == isChest) {
+                continue;
+            }
+
+            Optional<Location<World>> location = transaction.getFinal().getLocation();
+            if (location.isPresent()) {
+                update(location.get().getExtent().getName(), location.get().getBlockPosition(), isChest);
+            }
+        }
+    }
+
+    private static boolean isChest(BlockType type) {
+        return type == BlockTypes.CHEST || type == BlockTypes.TRAPPED_CHEST;
+    }
+
+    private static void update(String worldName, Vector3i position, boolean placed) {
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (survivalGame.getState() != SurvivalGameState.STOPPED) {
+                continue;
+            }
+
+            GameConfig config = survivalGame.getConfig();
+            if (!config.getWorldName().filter(worldName::equals).isPresent() || !config.getBlockArea().contains(position)) {
+                continue;
+            }
+
+            if (placed) {
+                config.addChestPosition(position);
+            } else {
+                config.removeChestPosition(position);
+            }
+        }
+    }
+
+    public static ChestIndexListener getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.listener;
+
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import org.spongepowered.api.block.tileentity.CommandBlock;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.gamemode.GameMode;
+import org.spongepowered.api.entity.living.player.gamemode.GameModes;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.InteractBlockEvent;
+import org.spongepowered.api.event.data.ChangeDataHolderEvent;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.Optional;
+
+/**
+ * Keeps each game's command block index up to date as command blocks are edited. Edits made by
+ * plugins are data changes. Edits made through a command block's screen post no event, so command
+ * blocks which a player opens for editing are watched by the index for a while instead.
+ */
+public class CommandBlockIndexListener {
+
+    private static final CommandBlockIndexListener INSTANCE = new CommandBlockIndexListener();
+
+    // What the server checks before letting a player edit a command block, which operators have
+    private static final String COMMAND_BLOCK_PERMISSION = "minecraft.commandblock";
+
+    private CommandBlockIndexListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onValueChange(ChangeDataHolderEvent.ValueChange event) {
+        DataHolder holder = event.getTargetHolder();
+        if (!(holder instanceof CommandBlock) || !event.getEndResult().isSuccessful()) {
+            return;
+        }
+
+        CommandBlock commandBlock = (CommandBlock) holder;
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (isGameWorld(survivalGame, commandBlock)) {
+                survivalGame.getCommandBlockIndex().put(commandBlock);
+            }
+        }
+    }
+
+    @Listener(order = Order.POST)
+    @IsCancelled(Tristate.FALSE)
+    public void onInteractBlock(InteractBlockEvent.Secondary.MainHand event) {
+        Optional<Player> player = event.getCause().first(Player.class);
+        if (!player.isPresent() || !canEditCommandBlocks(player.get())) {
+            return;
+        }
+
+        Optional<Location<World>> location = event.getTargetBlock().getLocation();
+        if (!location.isPresent()) {
+            return;
+        }
+
+        Optional<TileEntity> tileEntity = location.get().getTileEntity();
+        if (!tileEntity.isPresent() || !(tileEntity.get() instanceof CommandBlock)) {
+            return;
+        }
+
+        CommandBlock commandBlock = (CommandBlock) tileEntity.get();
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (isGameWorld(survivalGame, commandBlock)) {
+                survivalGame.getCommandBlockIndex().watch(commandBlock);
+            }
+        }
+    }
+
+    /** Only creative players allowed to use command blocks get to open a command block's screen. */
+    private static boolean canEditCommandBlocks(Player player) {
+        if (!player.hasPermission(COMMAND_BLOCK_PERMISSION)) {
+            return false;
+        }
+
+        Optional<GameMode> gameMode = player.get(Keys.GAME_MODE);
+        return gameMode.isPresent() && gameMode.get().equals(GameModes.CREATIVE);
+    }
+
+    /** The index holds every command block of the game's world, as SetCommandBlocksTask finds them. */
+    private static boolean isGameWorld(SurvivalGame survivalGame, CommandBlock commandBlock) {
+        return survivalGame.getConfig().getWorldName()
+                .filter(commandBlock.getLocation().getExtent().getName()::equals)
+                .isPresent();
+    }
+
+    public static CommandBlockIndexListener getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.listener;
+
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.Item;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.projectile.Projectile;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+
+import java.util.Optional;
+
+/** Records the projectiles and items spawned by players in a game as owned by that game. */
+public class EntityOwnershipListener {
+
+    private static final EntityOwnershipListener INSTANCE = new EntityOwnershipListener();
+
+    private EntityOwnershipListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onSpawnEntity(SpawnEntityEvent event) {
+        Optional<Player> player = event.getCause().first(Player.class);
+        if (!player.isPresent()) {
+            return;
+        }
+
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (!survivalGame.containsPlayer(player.get().getUniqueId())) {
+                continue;
+            }
+
+            for (Entity entity : event.getEntities()) {
+                if (entity instanceof Projectile || entity instanceof Item) {
+                    survivalGame.getOwnedEntities().add(entity.getUniqueId());
+                }
+            }
+        }
+    }
+
+    public static EntityOwnershipListener getInstance() {
+        return INSTANCE;
+    }
+}
@@ -100,7 +100,9 @@ public class PlayerDeathListener {
             Entity entity =
                     world.createEntity(EntityTypes.ITEM, player.getLocation().getPosition());
             entity.offer(Keys.REPRESENTED_ITEM, item.createSnapshot());
-            world.spawnEntity(entity);
+            if (world.spawnEntity(entity)) {
+                survivalGame.getOwnedEntities().add(entity.getUniqueId());
+            }
         }
 
         // Despawn the player
@@ -25,25 +25,82 @@
 
 package io.github.m0pt0pmatt.survivalgames.listener;
 
+import com.flowpowered.math.vector.Vector3i;
 import io.github.m0pt0pmatt.survivalgames.event.PlayerOpenedChestEvent;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import io.github.m0pt0pmatt.survivalgames.loot.LootPlanner;
+import io.github.m0pt0pmatt.survivalgames.loot.LootTable;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.block.tileentity.carrier.Chest;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.InteractBlockEvent;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Posts a {@link PlayerOpenedChestEvent} when a player in a game opens a chest. Chests which are
+ * filled lazily are filled here, before their inventory is shown.
+ */
 public class PlayerOpenedChestListener {
 
     private static final PlayerOpenedChestListener INSTANCE = new PlayerOpenedChestListener();
 
     private PlayerOpenedChestListener() {}
 
-    @Listener
-    public void onPlayerOpenChest(PlayerOpenedChestEvent event) {
-        Player player = event.getPlayer();
-        SurvivalGameRepository.values()
-                .stream()
-                .filter(survivalGame -> survivalGame.containsPlayer(player.getUniqueId()))
-                .forEach(survivalGame -> Sponge.getEventManager().post(new PlayerOpenedChestEvent(event.getCause(), survivalGame, player)));
+    /** Only the main hand opens the chest, and nothing happens if another plugin denied the interaction. */
+    @Listener(order = Order.POST)
+    @IsCancelled(Tristate.FALSE)
+    public void onInteractBlock(InteractBlockEvent.Secondary.MainHand event) {
+        Optional<Player> player = event.getCause().first(Player.class);
+        Optional<Location<World>> location = event.getTargetBlock().getLocation();
+        if (!player.isPresent() || !location.isPresent()) {
+            return;
+        }
+
+        Optional<TileEntity> tileEntity = location.get().getTileEntity();
+        if (!tileEntity.isPresent() || !(tileEntity.get() instanceof Chest)) {
+            return;
+        }
+        Chest chest = (Chest) tileEntity.get();
+
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (!survivalGame.containsPlayer(player.get().getUniqueId())) {
+                continue;
+            }
+
+            if (survivalGame.getState() == SurvivalGameState.RUNNING && !survivalGame.getUnfilledChests().isEmpty()) {
+                fill(survivalGame, chest);
+            }
+            Sponge.getEventManager().post(new PlayerOpenedChestEvent(event.getCause(), survivalGame, player.get()));
+        }
+    }
+
+    /** Fills the chest, and the other half of a double chest, if they have not been filled yet. */
+    private static void fill(SurvivalGame survivalGame, Chest chest) {
+        Set<Chest> chests = new HashSet<>(chest.getConnectedChests());
+        chests.add(chest);
+
+        LootTable lootTable = survivalGame.getConfig().getItemConfig().getLootTable();
+        int chestMidpoint = survivalGame.getConfig().getChestMidpoint().orElse(0);
+        int chestRange = survivalGame.getConfig().getChestRange().orElse(0);
+
+        for (Chest half : chests) {
+            Vector3i position = half.getLocation().getBlockPosition();
+            if (survivalGame.getUnfilledChests().remove(position)) {
+                LootPlanner.plan(position, lootTable, survivalGame.getRandom(), chestMidpoint, chestRange).apply(half, lootTable);
+            }
+        }
     }
 
     public static PlayerOpenedChestListener getInstance() {
@@ -0,0 +1,75 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.listener;
+
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import io.github.m0pt0pmatt.survivalgames.mobspawn.SpawnPositionCache;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.Optional;
+
+/** Keeps the spawn positions of running games up to date as blocks change. */
+public class SpawnPositionListener {
+
+    private static final SpawnPositionListener INSTANCE = new SpawnPositionListener();
+
+    private SpawnPositionListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onChangeBlock(ChangeBlockEvent event) {
+        for (SurvivalGame survivalGame : SurvivalGameRepository.values()) {
+            if (survivalGame.getState() != SurvivalGameState.RUNNING || survivalGame.getSpawnPositionCaches().isEmpty()) {
+                continue;
+            }
+
+            for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+                Optional<Location<World>> location = transaction.getFinal().getLocation();
+                if (!transaction.isValid() || !location.isPresent()
+                        || !survivalGame.getConfig().getWorldName().filter(location.get().getExtent().getName()::equals).isPresent()) {
+                    continue;
+                }
+
+                for (SpawnPositionCache cache : survivalGame.getSpawnPositionCaches()) {
+                    cache.update(location.get().getBlockPosition());
+                }
+            }
+        }
+    }
+
+    public static SpawnPositionListener getInstance() {
+        return INSTANCE;
+    }
+}
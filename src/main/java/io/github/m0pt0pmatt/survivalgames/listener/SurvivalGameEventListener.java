@@ -25,32 +25,18 @@
 
 package io.github.m0pt0pmatt.survivalgames.listener;
 
-import com.google.common.collect.ImmutableList;
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.commandblock.CommandBlockTarget;
 import io.github.m0pt0pmatt.survivalgames.event.IntervalEvent;
 import io.github.m0pt0pmatt.survivalgames.event.PlayerEvent;
 import io.github.m0pt0pmatt.survivalgames.event.SurvivalGameEvent;
-import io.github.m0pt0pmatt.survivalgames.interval.ActiveIntervalRepository;
-import org.apache.commons.lang3.ClassUtils;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockSnapshot;
-import org.spongepowered.api.block.BlockState;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.block.tileentity.CommandBlock;
 import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.api.event.Listener;
-import org.spongepowered.api.world.BlockChangeFlags;
-
-import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class SurvivalGameEventListener {
 
     private static final SurvivalGameEventListener INSTANCE = new SurvivalGameEventListener();
-    private static final String COMMAND_BLOCK_STRING = "/ssg event ";
-    private static final List<Class<?>> survivalGameClasses = ClassUtils.getAllSuperclasses(SurvivalGameEvent.class);
 
     private SurvivalGameEventListener() {
 
@@ -58,44 +44,16 @@ public class SurvivalGameEventListener {
 
     @Listener
     public void fireCommandBlocks(SurvivalGameEvent event) {
-        event.getSurvivalGame().getCommandBlocks().forEach(c -> handleCommandBlock(c, event));
-    }
-
-    private void handleCommandBlock(CommandBlock commandBlock, SurvivalGameEvent event) {
-        Value<String> storedCommand = commandBlock.storedCommand();
-        if (!storedCommand.exists()) {
-            return;
-        }
-
-        String[] parts = storedCommand.get().trim().split("\\s+");
-        if (parts.length < 3) {
-            return;
-        }
-
-        if (!parts[0].equalsIgnoreCase("/ssg") || !parts[1].equalsIgnoreCase("event")) {
-            return;
+        for (CommandBlockTarget target : event.getSurvivalGame().getCommandBlockIndex().getTargets(event.getClass())) {
+            handleCommandBlock(target, event);
         }
+    }
 
-        String eventName = parts[2];
-
-        List<String> classes = ImmutableList.<Class<?>>builder()
-                .add(event.getClass())
-                .addAll(ClassUtils.getAllSuperclasses(event.getClass()))
-                .build()
-                .stream()
-                .filter(c -> !survivalGameClasses.contains(c))
-                .map(Class::getSimpleName)
-                .collect(Collectors.toList());
-
-        if (!classes.contains(eventName)) {
-            return;
-        }
+    private void handleCommandBlock(CommandBlockTarget target, SurvivalGameEvent event) {
+        CommandBlock commandBlock = target.getCommandBlock();
 
         // execute other command
-        if (parts.length > 3) {
-
-            String internalCommand =
-                    storedCommand.get().substring(COMMAND_BLOCK_STRING.length());
+        if (target.getCommand().isPresent()) {
 
             CommandSource source = null;
             if (event instanceof PlayerEvent) {
@@ -105,14 +63,12 @@ public class SurvivalGameEventListener {
             }
 
             if (source != null) {
-                Sponge.getCommandManager().process(source, internalCommand);
+                Sponge.getCommandManager().process(source, target.getCommand().get());
             }
         }
 
         // Redstone trick
-        BlockSnapshot snapshot = ActiveIntervalRepository.getSnapshot(commandBlock.getLocation());
-        commandBlock.getLocation().setBlock(BlockState.builder().blockType(BlockTypes.REDSTONE_TORCH).build(), BlockChangeFlags.ALL);
-        SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(() -> snapshot.restore(true, BlockChangeFlags.ALL), 1, TimeUnit.SECONDS);
+        event.getSurvivalGame().getPulseEngine().pulse(commandBlock.getLocation());
     }
 
     public static SurvivalGameEventListener getInstance() {
@@ -0,0 +1,75 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.loot;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.block.tileentity.carrier.Chest;
+
+/**
+ * The planned contents of one chest: which entries of a {@link LootTable} go in, and how many of
+ * each. Plans hold no game objects, so they can be made off the main thread.
+ */
+public final class ChestPlan {
+
+    private final Vector3i position;
+    private final int[] entries;
+    private final int[] quantities;
+
+    ChestPlan(Vector3i position, int[] entries, int[] quantities) {
+        this.position = position;
+        this.entries = entries;
+        this.quantities = quantities;
+    }
+
+    public Vector3i getPosition() {
+        return position;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public int getEntry(int i) {
+        return entries[i];
+    }
+
+    public int getQuantity(int i) {
+        return quantities[i];
+    }
+
+    /**
+     * Replaces the contents of a chest with this plan. Must be called on the main thread.
+     *
+     * @param chest The chest.
+     * @param lootTable The loot table the plan was drawn from.
+     */
+    public void apply(Chest chest, LootTable lootTable) {
+        chest.getInventory().clear();
+        for (int i = 0; i < entries.length; i++) {
+            chest.getInventory().offer(lootTable.createStack(entries[i], quantities[i]));
+        }
+    }
+}
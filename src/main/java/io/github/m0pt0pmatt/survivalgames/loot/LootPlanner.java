@@ -0,0 +1,110 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.loot;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/** Plans the contents of chests. Safe to call off the main thread. */
+public final class LootPlanner {
+
+    private LootPlanner() {
+
+    }
+
+    /**
+     * Plans the contents of chests, nearest to a spawn point first.
+     *
+     * @param positions The chest positions.
+     * @param spawnPoints The spawn points.
+     * @param lootTable The loot table to draw from.
+     * @param random The random source.
+     * @param chestMidpoint The average number of items per chest.
+     * @param chestRange How far the number of items may be from the midpoint.
+     * @return The plans.
+     */
+    public static List<ChestPlan> plan(List<Vector3i> positions, List<Vector3d> spawnPoints, LootTable lootTable,
+            Random random, int chestMidpoint, int chestRange) {
+
+        List<ChestPlan> plans = new ArrayList<>(positions.size());
+        for (Vector3i position : positions) {
+            plans.add(plan(position, lootTable, random, chestMidpoint, chestRange));
+        }
+
+        if (!spawnPoints.isEmpty()) {
+            Collections.sort(plans, Comparator.comparingDouble(plan -> distanceToSpawnSquared(plan.getPosition(), spawnPoints)));
+        }
+        return plans;
+    }
+
+    /**
+     * Plans the contents of one chest.
+     *
+     * @param position The chest position.
+     * @param lootTable The loot table to draw from.
+     * @param random The random source.
+     * @param chestMidpoint The average number of items per chest.
+     * @param chestRange How far the number of items may be from the midpoint.
+     * @return The plan. Empty if the loot table is empty.
+     */
+    public static ChestPlan plan(Vector3i position, LootTable lootTable, Random random, int chestMidpoint, int chestRange) {
+        if (lootTable.isEmpty()) {
+            return new ChestPlan(position, new int[0], new int[0]);
+        }
+
+        double itemCount = (chestMidpoint + ((random.nextDouble() * chestRange) * (random.nextDouble() > 0.5 ? 1 : -1)));
+        int count = (int) Math.max(0, Math.ceil(itemCount));
+
+        int[] entries = new int[count];
+        int[] quantities = new int[count];
+        for (int i = 0; i < count; i++) {
+            entries[i] = lootTable.sample(random);
+            quantities[i] = lootTable.sampleQuantity(entries[i], random);
+        }
+        return new ChestPlan(position, entries, quantities);
+    }
+
+    /**
+     * Gets the squared distance from a chest to the nearest spawn point.
+     *
+     * @param position The chest position.
+     * @param spawnPoints The spawn points.
+     * @return The squared distance, or {@link Double#MAX_VALUE} without spawn points.
+     */
+    public static double distanceToSpawnSquared(Vector3i position, List<Vector3d> spawnPoints) {
+        double min = Double.MAX_VALUE;
+        for (Vector3d spawnPoint : spawnPoints) {
+            min = Math.min(min, position.toDouble().distanceSquared(spawnPoint));
+        }
+        return min;
+    }
+}
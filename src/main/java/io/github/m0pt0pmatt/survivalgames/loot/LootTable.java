@@ -0,0 +1,223 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.loot;
+
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.LootEntry;
+import io.github.m0pt0pmatt.survivalgames.data.LootRarity;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A compiled set of weighted loot entries. Entries are drawn with Vose's alias method, so drawing an
+ * entry takes one random int and one random double, whatever the number of entries.
+ */
+public final class LootTable {
+
+    public static final LootTable EMPTY = empty(Collections.emptyList());
+
+    private final ItemStackSnapshot[] items;
+    private final int[] minQuantities;
+    private final int[] quantitySpans;
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final List<String> problems;
+
+    private LootTable(
+            ItemStackSnapshot[] items, int[] minQuantities, int[] quantitySpans, double[] probabilities, int[] aliases, List<String> problems) {
+        this.items = items;
+        this.minQuantities = minQuantities;
+        this.quantitySpans = quantitySpans;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    private static LootTable empty(List<String> problems) {
+        return new LootTable(new ItemStackSnapshot[0], new int[0], new int[0], new double[0], new int[0], problems);
+    }
+
+    /**
+     * Compiles loot entries into a table. Entries without an item or with a weight that is not
+     * positive are skipped, and described in {@link #getProblems()}.
+     *
+     * @param entries The entries.
+     * @return The table.
+     */
+    public static LootTable compile(List<LootEntry> entries) {
+        List<LootEntry> valid = new ArrayList<>(entries.size());
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            LootEntry entry = entries.get(i);
+            String problem = null;
+            if (!entry.getItem().isPresent()) {
+                problem = "Loot entry " + (i + 1) + " has no item";
+            } else if (entry.getWeight().orElse(1.0) <= 0) {
+                problem = "Loot entry " + (i + 1) + " has a weight of " + entry.getWeight().get() + ", which is not positive";
+            }
+
+            if (problem != null) {
+                SurvivalGamesPlugin.LOGGER.warn("Skipping invalid loot: {}", problem);
+                problems.add(problem);
+                continue;
+            }
+            valid.add(entry);
+        }
+
+        int n = valid.size();
+        if (n == 0) {
+            return problems.isEmpty() ? EMPTY : empty(problems);
+        }
+
+        ItemStackSnapshot[] items = new ItemStackSnapshot[n];
+        int[] minQuantities = new int[n];
+        int[] quantitySpans = new int[n];
+        double[] weights = new double[n];
+        double total = 0;
+
+        for (int i = 0; i < n; i++) {
+            LootEntry entry = valid.get(i);
+            items[i] = entry.getItem().get();
+            int min = Math.max(1, entry.getMinQuantity().orElse(items[i].getQuantity()));
+            int max = Math.max(min, entry.getMaxQuantity().orElse(min));
+            minQuantities[i] = min;
+            quantitySpans[i] = max - min + 1;
+            weights[i] = entry.getWeight().orElse(1.0) * entry.getRarity().orElse(LootRarity.COMMON).getWeightMultiplier();
+            total += weights[i];
+        }
+
+        double[] probabilities = new double[n];
+        int[] aliases = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        // Scale the weights so they average 1, then pair each entry below 1 with one above it.
+        for (int i = 0; i < n; i++) {
+            weights[i] = weights[i] * n / total;
+            if (weights[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = weights[less];
+            aliases[less] = more;
+            weights[more] = weights[more] + weights[less] - 1;
+            if (weights[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is 1 up to rounding errors.
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probabilities[i] = 1;
+            aliases[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probabilities[i] = 1;
+            aliases[i] = i;
+        }
+
+        return new LootTable(items, minQuantities, quantitySpans, probabilities, aliases, problems);
+    }
+
+    /**
+     * Gets why entries were left out when the table was compiled.
+     *
+     * @return One description per skipped entry.
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Draws an entry.
+     *
+     * @param random The random source.
+     * @return The index of the entry.
+     * @throws IllegalStateException If the table is empty.
+     */
+    public int sample(Random random) {
+        if (items.length == 0) {
+            throw new IllegalStateException("The loot table is empty");
+        }
+
+        int i = random.nextInt(items.length);
+        return random.nextDouble() < probabilities[i] ? i : aliases[i];
+    }
+
+    public ItemStackSnapshot getItem(int entry) {
+        return items[entry];
+    }
+
+    /**
+     * Draws a stack size for an entry.
+     *
+     * @param entry The index of the entry.
+     * @param random The random source.
+     * @return The stack size.
+     */
+    public int sampleQuantity(int entry, Random random) {
+        int span = quantitySpans[entry];
+        return span == 1 ? minQuantities[entry] : minQuantities[entry] + random.nextInt(span);
+    }
+
+    /**
+     * Creates the item stack of an entry.
+     *
+     * @param entry The index of the entry.
+     * @param quantity The stack size.
+     * @return The stack.
+     */
+    public ItemStack createStack(int entry, int quantity) {
+        ItemStack stack = items[entry].createStack();
+        stack.setQuantity(quantity);
+        return stack;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.matchmaking;
+
+import io.github.m0pt0pmatt.survivalgames.event.GameStateChangedEvent;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerJoinedGameEvent;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerLeftGameEvent;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/** Keeps the matchmaking queue's view of the ready games up to date. */
+public class MatchmakingListener {
+
+    private static final MatchmakingListener INSTANCE = new MatchmakingListener();
+
+    private MatchmakingListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onStateChanged(GameStateChangedEvent event) {
+        MatchmakingQueue.update(event.getSurvivalGame());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerJoined(PlayerJoinedGameEvent event) {
+        MatchmakingQueue.remove(event.getPlayer().getUniqueId());
+        MatchmakingQueue.update(event.getSurvivalGame());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerLeft(PlayerLeftGameEvent event) {
+        MatchmakingQueue.update(event.getSurvivalGame());
+    }
+
+    @Listener
+    public void onDisconnect(ClientConnectionEvent.Disconnect event) {
+        MatchmakingQueue.remove(event.getTargetEntity().getUniqueId());
+    }
+
+    public static MatchmakingListener getInstance() {
+        return INSTANCE;
+    }
+}
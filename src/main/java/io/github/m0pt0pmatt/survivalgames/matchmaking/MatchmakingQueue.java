@@ -0,0 +1,208 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.matchmaking;
+
+import io.github.m0pt0pmatt.survivalgames.data.Schedule;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerJoinedGameEvent;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRepository;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
+import io.github.m0pt0pmatt.survivalgames.schedule.ScheduleRepository;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Places queued players into ready games. Games with room are kept in order of how soon they can
+ * start: games short of their schedule's minimum player count come first, fewest players short
+ * first, then the fullest games. The order is kept up to date from game events, so placing a player
+ * never looks at every game. Used on the main thread.
+ */
+public final class MatchmakingQueue {
+
+    private static final Comparator<Arena> ORDER = Comparator
+            .comparing((Arena arena) -> arena.getShortfall() == 0)
+            .thenComparingInt(Arena::getShortfall)
+            .thenComparing(Comparator.comparingDouble(Arena::getFill).reversed())
+            .thenComparing(arena -> arena.survivalGame.getName());
+
+    private static final Set<UUID> QUEUE = new LinkedHashSet<>();
+    private static final Map<SurvivalGame, Arena> ARENAS = new HashMap<>();
+    private static final NavigableSet<Arena> OPEN_ARENAS = new TreeSet<>(ORDER);
+
+    private static boolean placing;
+
+    private MatchmakingQueue() {
+
+    }
+
+    /**
+     * Adds a player to the back of the queue and places whoever can be placed.
+     *
+     * @param uuid The player.
+     * @return False if the player was already queued.
+     */
+    public static boolean add(UUID uuid) {
+        if (!QUEUE.add(uuid)) {
+            return false;
+        }
+        place();
+        return true;
+    }
+
+    public static boolean remove(UUID uuid) {
+        return QUEUE.remove(uuid);
+    }
+
+    public static boolean contains(UUID uuid) {
+        return QUEUE.contains(uuid);
+    }
+
+    public static int size() {
+        return QUEUE.size();
+    }
+
+    /**
+     * Re-reads a game's state, player count and limits, then places whoever can be placed.
+     *
+     * @param survivalGame The game.
+     */
+    static void update(SurvivalGame survivalGame) {
+        refresh(survivalGame);
+        place();
+    }
+
+    static void forget(SurvivalGame survivalGame) {
+        Arena arena = ARENAS.remove(survivalGame);
+        if (arena != null) {
+            OPEN_ARENAS.remove(arena);
+        }
+    }
+
+    private static void refresh(SurvivalGame survivalGame) {
+        forget(survivalGame);
+
+        if (survivalGame.getState() != SurvivalGameState.READY
+                || !SurvivalGameRepository.get(survivalGame.getName()).filter(survivalGame::equals).isPresent()) {
+            return;
+        }
+
+        Arena arena = new Arena(survivalGame);
+        ARENAS.put(survivalGame, arena);
+        if (arena.hasRoom()) {
+            OPEN_ARENAS.add(arena);
+        }
+    }
+
+    private static void place() {
+        if (placing) {
+            return;
+        }
+
+        placing = true;
+        try {
+            Iterator<UUID> iterator = QUEUE.iterator();
+            while (iterator.hasNext() && !OPEN_ARENAS.isEmpty()) {
+                Arena arena = OPEN_ARENAS.first();
+                if (!arena.isCurrent()) {
+                    refresh(arena.survivalGame);
+                    continue;
+                }
+
+                UUID uuid = iterator.next();
+                iterator.remove();
+
+                Optional<Player> player = Sponge.getServer().getPlayer(uuid);
+                if (!player.isPresent() || arena.survivalGame.containsPlayer(uuid)) {
+                    continue;
+                }
+
+                arena.survivalGame.addPlayer(player.get());
+                Sponge.getEventManager().post(new PlayerJoinedGameEvent(
+                        Sponge.getCauseStackManager().getCurrentCause(), arena.survivalGame, player.get()));
+                refresh(arena.survivalGame);
+            }
+        } finally {
+            placing = false;
+        }
+    }
+
+    /** A ready game as it was when it was last refreshed. */
+    private static final class Arena {
+
+        private final SurvivalGame survivalGame;
+        private final int players;
+        private final int limit;
+        private final int minimum;
+
+        private Arena(SurvivalGame survivalGame) {
+            this.survivalGame = survivalGame;
+            this.players = survivalGame.getPlayerCount();
+            this.limit = survivalGame.getConfig().getPlayerLimit().orElse(0);
+            this.minimum = getMinimum(survivalGame);
+        }
+
+        private static int getMinimum(SurvivalGame survivalGame) {
+            Optional<Schedule> schedule = ScheduleRepository.getSchedule(survivalGame);
+            if (!schedule.isPresent()) {
+                return 0;
+            }
+
+            // Schedules start once there are more players than the minimum
+            return schedule.get().getMinimumPlayerCount().map(minimum -> minimum + 1).orElse(0);
+        }
+
+        private boolean hasRoom() {
+            return players < limit;
+        }
+
+        private boolean isCurrent() {
+            return survivalGame.getState() == SurvivalGameState.READY
+                    && SurvivalGameRepository.get(survivalGame.getName()).filter(survivalGame::equals).isPresent()
+                    && players == survivalGame.getPlayerCount()
+                    && limit == survivalGame.getConfig().getPlayerLimit().orElse(0)
+                    && minimum == getMinimum(survivalGame);
+        }
+
+        private int getShortfall() {
+            return Math.max(0, minimum - players);
+        }
+
+        private double getFill() {
+            return (double) players / limit;
+        }
+    }
+}
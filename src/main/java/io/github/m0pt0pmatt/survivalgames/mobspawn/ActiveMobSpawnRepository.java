@@ -26,36 +26,46 @@
 package io.github.m0pt0pmatt.survivalgames.mobspawn;
 
 import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
-import io.github.m0pt0pmatt.survivalgames.data.MobSpawnArea;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.spongepowered.api.scheduler.SpongeExecutorService;
 import org.spongepowered.api.world.World;
 
+/** Keeps track of the running mob spawn coordinators, one per game. */
 public final class ActiveMobSpawnRepository {
 
+    private static final long TICK_MILLIS = 50;
+
     private static final Map<UUID, SpongeExecutorService.SpongeFuture> FUTURE_MAP =
             new ConcurrentHashMap<>();
 
     private ActiveMobSpawnRepository() {}
 
-    public static UUID start(SurvivalGame survivalGame, MobSpawnArea mobSpawnArea, World world) {
-        int millisecondsPerSpawn =
-                mobSpawnArea.getSpawnRatePerMinute().map(integer -> 1000 * 60 / integer).orElse(0);
+    /**
+     * Starts spawning the mobs of every mob spawn area of a game.
+     *
+     * @param survivalGame The survival game.
+     * @param world The world of the game.
+     * @return The id of the spawner, or nothing if the game has no area with a spawn rate.
+     */
+    public static Optional<UUID> start(SurvivalGame survivalGame, World world) {
+        MobSpawnCoordinator coordinator = new MobSpawnCoordinator(survivalGame, world);
+        if (coordinator.isEmpty()) {
+            return Optional.empty();
+        }
 
         SpongeExecutorService.SpongeFuture future =
                 SurvivalGamesPlugin.SYNC_EXECUTOR.scheduleAtFixedRate(
-                        new MobSpawnRunnable(survivalGame, mobSpawnArea, world),
-                        0,
-                        millisecondsPerSpawn,
-                        TimeUnit.MILLISECONDS);
+                        coordinator, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
 
-        FUTURE_MAP.put(mobSpawnArea.getId(), future);
+        UUID id = UUID.randomUUID();
+        FUTURE_MAP.put(id, future);
 
-        return mobSpawnArea.getId();
+        return Optional.of(id);
     }
 
     public static void stop(UUID uuid) {
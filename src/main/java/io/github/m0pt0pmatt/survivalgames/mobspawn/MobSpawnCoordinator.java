@@ -0,0 +1,218 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.mobspawn;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3d;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.data.MobSpawnArea;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.world.World;
+
+/**
+ * Spawns the mobs of every mob spawn area of a game from a single task, run every tick. Each area
+ * earns fractional spawn credits at its spawn rate, and a mob is spawned for each whole credit, as
+ * long as neither the area nor the game is at its live mob cap. The spawn positions of each area
+ * are found from the arena snapshot in the background.
+ *
+ * <p>Mobs are only spawned near players, found through a grid of player positions refreshed a few
+ * times a second, and mobs which stay far from every player are despawned.
+ */
+final class MobSpawnCoordinator implements Runnable {
+
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long GRID_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final SurvivalGame survivalGame;
+    private final List<AreaSpawner> areas = new ArrayList<>();
+    private final int maxLiveMobs;
+    private final PlayerGrid players;
+    private final long despawnNanos;
+    private final MobSpawnStats stats;
+
+    private long lastRun;
+    private long lastPrune;
+    private long lastGridUpdate;
+    private int liveMobs = 0;
+
+    MobSpawnCoordinator(SurvivalGame survivalGame, World world) {
+        this.survivalGame = checkNotNull(survivalGame, "survivalGame");
+        checkNotNull(world, "world");
+        this.maxLiveMobs = survivalGame.getConfig().getMaxLiveMobs().orElse(GameConfig.DEFAULT_MAX_LIVE_MOBS);
+        this.stats = survivalGame.getMobSpawnStats();
+
+        int playerRadius = survivalGame.getConfig().getMobPlayerRadius().orElse(GameConfig.DEFAULT_MOB_PLAYER_RADIUS);
+        this.players = playerRadius > 0 ? new PlayerGrid(playerRadius) : null;
+        this.despawnNanos = TimeUnit.SECONDS.toNanos(survivalGame.getConfig().getMobDespawnSeconds().orElse(GameConfig.DEFAULT_MOB_DESPAWN_SECONDS));
+
+        Optional<ArenaSnapshot> snapshot = survivalGame.getConfig().getArenaSnapshot();
+        for (MobSpawnArea mobSpawnArea : survivalGame.getConfig().getMobSpawnAreas()) {
+            int spawnRatePerMinute = mobSpawnArea.getSpawnRatePerMinute().orElse(0);
+            if (spawnRatePerMinute <= 0) {
+                continue;
+            }
+
+            SpawnPositionCache positions = null;
+            Optional<Vector3d> lesser = mobSpawnArea.getLesserBoundary();
+            Optional<Vector3d> greater = mobSpawnArea.getGreaterBoundary();
+            if (snapshot.isPresent() && lesser.isPresent() && greater.isPresent()) {
+                positions = new SpawnPositionCache(world, lesser.get(), greater.get());
+                survivalGame.getSpawnPositionCaches().add(positions);
+                SpawnPositionCache cache = positions;
+                CompletableFuture.runAsync(() -> cache.build(snapshot.get()), SurvivalGamesPlugin.ASYNC_EXECUTOR);
+            }
+
+            areas.add(new AreaSpawner(new MobSpawner(survivalGame, mobSpawnArea, world, positions), spawnRatePerMinute,
+                    mobSpawnArea.getMaxLiveMobs().orElse(Integer.MAX_VALUE)));
+        }
+
+        lastRun = System.nanoTime();
+        lastPrune = lastRun;
+        lastGridUpdate = lastRun - GRID_INTERVAL_NANOS;
+    }
+
+    boolean isEmpty() {
+        return areas.isEmpty();
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        double minutes = (now - lastRun) / (double) TimeUnit.MINUTES.toNanos(1);
+        lastRun = now;
+
+        if (players != null && now - lastGridUpdate >= GRID_INTERVAL_NANOS) {
+            players.clear();
+            survivalGame.forEachPlayer(this::addPlayer);
+            lastGridUpdate = now;
+        }
+
+        if (now - lastPrune >= PRUNE_INTERVAL_NANOS) {
+            prune(now);
+            lastPrune = now;
+        }
+
+        for (AreaSpawner area : areas) {
+            area.credits += area.spawnRatePerMinute * minutes;
+
+            while (area.credits >= 1) {
+                if (liveMobs >= maxLiveMobs || area.live.size() >= area.maxLiveMobs) {
+                    // Credits do not pile up while capped, so mobs do not burst out once there is room.
+                    area.credits = 1;
+                    break;
+                }
+
+                area.credits--;
+                Optional<Vector3d> position = area.spawner.pickPosition(players);
+                if (!position.isPresent()) {
+                    stats.skipped();
+                    continue;
+                }
+
+                Optional<Entity> entity = area.spawner.spawn(position.get());
+                if (entity.isPresent()) {
+                    area.live.add(new LiveMob(entity.get()));
+                    liveMobs++;
+                    stats.spawned();
+                }
+            }
+        }
+    }
+
+    private void addPlayer(UUID uuid) {
+        Optional<Player> player = Sponge.getServer().getPlayer(uuid);
+        if (player.isPresent()) {
+            players.add(player.get().getLocation().getPosition());
+        }
+    }
+
+    /** Forgets mobs which died or were removed, and despawns mobs which were far from players for too long. */
+    private void prune(long now) {
+        liveMobs = 0;
+        for (AreaSpawner area : areas) {
+            Iterator<LiveMob> iterator = area.live.iterator();
+            while (iterator.hasNext()) {
+                LiveMob mob = iterator.next();
+                if (mob.entity.isRemoved()) {
+                    iterator.remove();
+                    continue;
+                }
+
+                if (players == null || players.isNear(mob.entity.getLocation().getPosition())) {
+                    mob.farSince = LiveMob.NEAR;
+                } else if (mob.farSince == LiveMob.NEAR) {
+                    mob.farSince = now;
+                } else if (now - mob.farSince >= despawnNanos) {
+                    mob.entity.remove();
+                    survivalGame.getOwnedEntities().remove(mob.entity.getUniqueId());
+                    iterator.remove();
+                    stats.despawned();
+                }
+            }
+            liveMobs += area.live.size();
+        }
+    }
+
+    private static final class AreaSpawner {
+
+        private final MobSpawner spawner;
+        private final double spawnRatePerMinute;
+        private final int maxLiveMobs;
+        private final List<LiveMob> live = new ArrayList<>();
+        private double credits = 0;
+
+        private AreaSpawner(MobSpawner spawner, double spawnRatePerMinute, int maxLiveMobs) {
+            this.spawner = spawner;
+            this.spawnRatePerMinute = spawnRatePerMinute;
+            this.maxLiveMobs = maxLiveMobs;
+        }
+    }
+
+    private static final class LiveMob {
+
+        private static final long NEAR = Long.MIN_VALUE;
+
+        private final Entity entity;
+        private long farSince = NEAR;
+
+        private LiveMob(Entity entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.mobspawn;
+
+import org.spongepowered.api.text.Text;
+
+/** Counts what the mob spawner of a game did during the last round. */
+public final class MobSpawnStats {
+
+    private volatile long spawned;
+    private volatile long skipped;
+    private volatile long despawned;
+
+    public long getSpawned() {
+        return spawned;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getDespawned() {
+        return despawned;
+    }
+
+    void spawned() {
+        spawned++;
+    }
+
+    void skipped() {
+        skipped++;
+    }
+
+    void despawned() {
+        despawned++;
+    }
+
+    public void reset() {
+        spawned = 0;
+        skipped = 0;
+        despawned = 0;
+    }
+
+    public Text toText() {
+        return Text.of(spawned, " spawned, ", skipped, " skipped with no player near, ", despawned, " despawned far from players");
+    }
+}
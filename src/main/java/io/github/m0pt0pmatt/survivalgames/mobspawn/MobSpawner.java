@@ -28,6 +28,7 @@ package io.github.m0pt0pmatt.survivalgames.mobspawn;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
 import io.github.m0pt0pmatt.survivalgames.data.MobSpawnArea;
 import io.github.m0pt0pmatt.survivalgames.event.MobSpawnedEvent;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
@@ -36,48 +37,96 @@ import java.util.Random;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
-import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
-class MobSpawnRunnable implements Runnable {
+/**
+ * Spawns the mobs of one mob spawn area, at random positions where a mob can stand. Without a
+ * snapshot to find those positions, mobs spawn anywhere inside the area.
+ */
+class MobSpawner {
+
+    private static final int ATTEMPTS = 4;
 
     private final SurvivalGame survivalGame;
     private final MobSpawnArea mobSpawnArea;
     private final World world;
-    private static final Random random = new Random();
+    private final SpawnPositionCache positions;
 
-    MobSpawnRunnable(SurvivalGame survivalGame, MobSpawnArea mobSpawnArea, World world) {
+    /**
+     * Creates a spawner.
+     *
+     * @param survivalGame The survival game.
+     * @param mobSpawnArea The area.
+     * @param world The world of the game.
+     * @param positions The spawn positions of the area, or null to spawn anywhere inside it.
+     */
+    MobSpawner(SurvivalGame survivalGame, MobSpawnArea mobSpawnArea, World world, SpawnPositionCache positions) {
         this.survivalGame = checkNotNull(survivalGame, "survivalGame");
         this.mobSpawnArea = checkNotNull(mobSpawnArea, "mobSpawnArea");
         this.world = checkNotNull(world, "world");
+        this.positions = positions;
     }
 
-    @Override
-    public void run() {
-
-        Optional<Vector3d> lesserBoundary = mobSpawnArea.getLesserBoundary();
-        Optional<Vector3d> greaterBoundary = mobSpawnArea.getGreaterBoundary();
-        Optional<EntityType> entityType = mobSpawnArea.getEntityType();
+    /**
+     * Picks where to spawn the next mob. With a player grid, a few positions are tried until one is
+     * near a player.
+     *
+     * @param players The player grid, or null to take any position.
+     * @return The position, or nothing if there is no position near a player.
+     */
+    Optional<Vector3d> pickPosition(PlayerGrid players) {
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            Optional<Vector3d> position = pickPosition();
+            if (!position.isPresent() || players == null || players.isNear(position.get())) {
+                return position;
+            }
+        }
+        return Optional.empty();
+    }
 
-        if (lesserBoundary.isPresent() && greaterBoundary.isPresent() && entityType.isPresent()) {
-            double xDiff = greaterBoundary.get().getX() - lesserBoundary.get().getX();
-            double yDiff = greaterBoundary.get().getY() - lesserBoundary.get().getY();
-            double zDiff = greaterBoundary.get().getZ() - lesserBoundary.get().getZ();
+    /**
+     * Spawns one mob.
+     *
+     * @param position Where to spawn it.
+     * @return The mob, if it was spawned.
+     */
+    Optional<Entity> spawn(Vector3d position) {
 
-            Location<World> location =
-                    world.getLocation(
-                            lesserBoundary.get().getX() + random.nextInt((int) xDiff),
-                            lesserBoundary.get().getY() + random.nextInt((int) yDiff),
-                            lesserBoundary.get().getZ() + random.nextInt((int) zDiff));
+        Optional<EntityType> entityType = mobSpawnArea.getEntityType();
 
-            Entity entity = world.createEntity(entityType.get(), location.getPosition());
+        if (entityType.isPresent()) {
+            Entity entity = world.createEntity(entityType.get(), position);
 
             MobSpawnedEvent event = new MobSpawnedEvent(survivalGame, entity);
             boolean spawned = world.spawnEntity(entity);
 
             if (spawned) {
+                survivalGame.getOwnedEntities().add(entity.getUniqueId());
                 Sponge.getEventManager().post(event);
+                return Optional.of(entity);
             }
         }
+        return Optional.empty();
+    }
+
+    private Optional<Vector3d> pickPosition() {
+        Random random = survivalGame.getRandom();
+        if (positions != null) {
+            return positions.sample(random);
+        }
+
+        Optional<Vector3d> lesserBoundary = mobSpawnArea.getLesserBoundary();
+        Optional<Vector3d> greaterBoundary = mobSpawnArea.getGreaterBoundary();
+        if (!lesserBoundary.isPresent() || !greaterBoundary.isPresent()) {
+            return Optional.empty();
+        }
+
+        // Areas may be flat on any axis.
+        Vector3i lesser = lesserBoundary.get().floor().toInt();
+        Vector3i size = greaterBoundary.get().floor().toInt().sub(lesser).max(Vector3i.ONE);
+        return Optional.of(new Vector3d(
+                lesser.getX() + random.nextInt(size.getX()) + 0.5,
+                lesser.getY() + random.nextInt(size.getY()),
+                lesser.getZ() + random.nextInt(size.getZ()) + 0.5));
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.mobspawn;
+
+import com.flowpowered.math.vector.Vector3d;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A coarse grid of player positions, for finding whether any player is within a radius of a
+ * position. Cells are as wide as the radius, so a query only looks at the 3 by 3 cells around the
+ * position.
+ */
+final class PlayerGrid {
+
+    private final double radius;
+    private final double radiusSquared;
+    private final Map<Long, List<Vector3d>> cells = new HashMap<>();
+
+    PlayerGrid(double radius) {
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+    }
+
+    void clear() {
+        for (List<Vector3d> cell : cells.values()) {
+            cell.clear();
+        }
+    }
+
+    void add(Vector3d position) {
+        long key = key(cell(position.getX()), cell(position.getZ()));
+        List<Vector3d> cell = cells.get(key);
+        if (cell == null) {
+            cell = new ArrayList<>();
+            cells.put(key, cell);
+        }
+        cell.add(position);
+    }
+
+    /**
+     * Whether a player is within the radius of a position.
+     *
+     * @param position The position.
+     * @return True if a player is near.
+     */
+    boolean isNear(Vector3d position) {
+        int cx = cell(position.getX());
+        int cz = cell(position.getZ());
+        for (int x = cx - 1; x <= cx + 1; x++) {
+            for (int z = cz - 1; z <= cz + 1; z++) {
+                List<Vector3d> cell = cells.get(key(x, z));
+                if (cell == null) {
+                    continue;
+                }
+                for (Vector3d player : cell) {
+                    if (player.distanceSquared(position) <= radiusSquared) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / radius);
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xffffffffL);
+    }
+}
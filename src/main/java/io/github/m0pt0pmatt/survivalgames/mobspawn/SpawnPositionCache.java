@@ -0,0 +1,238 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.mobspawn;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.property.block.SolidCubeProperty;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The positions inside a mob spawn area where a mob can stand: two blocks of air above a solid
+ * block. The cache is built from the arena snapshot off the main thread, and kept up to date with
+ * block changes afterwards. Other than {@link #build}, it is used on the main thread.
+ */
+public final class SpawnPositionCache {
+
+    private static final Map<BlockState, Boolean> SOLID = new ConcurrentHashMap<>();
+
+    private final World world;
+    private final Vector3i min;
+    private final Vector3i max;
+    private final int width;
+    private final int depth;
+
+    private int[] positions = new int[0];
+    private int size = 0;
+    private final Map<Integer, Integer> slots = new HashMap<>();
+
+    private boolean ready = false;
+    private final List<Vector3i> pending = new ArrayList<>();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param world The world of the area.
+     * @param lesser The lesser boundary of the area.
+     * @param greater The greater boundary of the area, exclusive.
+     */
+    public SpawnPositionCache(World world, Vector3d lesser, Vector3d greater) {
+        this.world = world;
+        this.min = lesser.floor().toInt();
+        this.max = greater.floor().toInt().max(min);
+        this.width = max.getX() - min.getX();
+        this.depth = max.getZ() - min.getZ();
+    }
+
+    /**
+     * Whether the cache has been built. Until then, there are no positions.
+     *
+     * @return True if the cache has been built.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the positions from an arena snapshot. Positions whose blocks are not in the snapshot are
+     * left out. Safe to call off the main thread; the positions are published on the main thread.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void build(ArenaSnapshot snapshot) {
+        int[] found = new int[64];
+        int count = 0;
+
+        for (int y = min.getY(); y < max.getY(); y++) {
+            for (int z = min.getZ(); z < max.getZ(); z++) {
+                for (int x = min.getX(); x < max.getX(); x++) {
+                    Optional<BlockState> floor = snapshot.getBlock(x, y - 1, z);
+                    Optional<BlockState> feet = snapshot.getBlock(x, y, z);
+                    Optional<BlockState> head = snapshot.getBlock(x, y + 1, z);
+                    if (floor.isPresent() && feet.isPresent() && head.isPresent() && isValid(floor.get(), feet.get(), head.get())) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = pack(x, y, z);
+                    }
+                }
+            }
+        }
+
+        int[] built = found;
+        int builtSize = count;
+        SurvivalGamesPlugin.SYNC_EXECUTOR.execute(() -> publish(built, builtSize));
+    }
+
+    private void publish(int[] built, int builtSize) {
+        positions = built;
+        size = builtSize;
+        slots.clear();
+        for (int i = 0; i < size; i++) {
+            slots.put(positions[i], i);
+        }
+        ready = true;
+
+        // Blocks which changed while the cache was being built.
+        for (Vector3i position : pending) {
+            update(position);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Re-checks the positions a block change can affect: the block itself, the position above it,
+     * which stands on it, and the two below it, whose headroom it is.
+     *
+     * @param position The position of the changed block.
+     */
+    public void update(Vector3i position) {
+        if (!ready) {
+            pending.add(position);
+            return;
+        }
+
+        for (int y = position.getY() - 2; y <= position.getY() + 1; y++) {
+            if (!contains(position.getX(), y, position.getZ())) {
+                continue;
+            }
+
+            boolean valid = isValid(world.getBlock(position.getX(), y - 1, position.getZ()),
+                    world.getBlock(position.getX(), y, position.getZ()),
+                    world.getBlock(position.getX(), y + 1, position.getZ()));
+            int packed = pack(position.getX(), y, position.getZ());
+            if (valid) {
+                add(packed);
+            } else {
+                remove(packed);
+            }
+        }
+    }
+
+    /**
+     * Picks a random position.
+     *
+     * @param random The random source.
+     * @return The center of the bottom of the block, or nothing if there are no positions.
+     */
+    public Optional<Vector3d> sample(Random random) {
+        if (size == 0) {
+            return Optional.empty();
+        }
+
+        int packed = positions[random.nextInt(size)];
+        int x = packed % width;
+        int z = (packed / width) % depth;
+        int y = packed / width / depth;
+        return Optional.of(new Vector3d(min.getX() + x + 0.5, min.getY() + y, min.getZ() + z + 0.5));
+    }
+
+    private boolean contains(int x, int y, int z) {
+        return x >= min.getX() && x < max.getX()
+                && y >= min.getY() && y < max.getY()
+                && z >= min.getZ() && z < max.getZ();
+    }
+
+    private int pack(int x, int y, int z) {
+        return ((y - min.getY()) * depth + (z - min.getZ())) * width + (x - min.getX());
+    }
+
+    private void add(int packed) {
+        if (slots.containsKey(packed)) {
+            return;
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+        }
+        slots.put(packed, size);
+        positions[size++] = packed;
+    }
+
+    private void remove(int packed) {
+        Integer slot = slots.remove(packed);
+        if (slot == null) {
+            return;
+        }
+
+        // Move the last position into the hole.
+        int last = positions[--size];
+        if (slot != size) {
+            positions[slot] = last;
+            slots.put(last, slot);
+        }
+    }
+
+    private static boolean isValid(BlockState floor, BlockState feet, BlockState head) {
+        return feet.getType() == BlockTypes.AIR && head.getType() == BlockTypes.AIR && isSolid(floor);
+    }
+
+    private static boolean isSolid(BlockState state) {
+        Boolean solid = SOLID.get(state);
+        if (solid == null) {
+            Optional<SolidCubeProperty> property = state.getProperty(SolidCubeProperty.class);
+            solid = property.isPresent() && Boolean.TRUE.equals(property.get().getValue());
+            SOLID.put(state, solid);
+        }
+        return solid;
+    }
+}
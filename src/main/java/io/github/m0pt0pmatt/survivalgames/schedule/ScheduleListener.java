@@ -0,0 +1,81 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.schedule;
+
+import io.github.m0pt0pmatt.survivalgames.event.GameDeathmatchEvent;
+import io.github.m0pt0pmatt.survivalgames.event.GameStateChangedEvent;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerJoinedGameEvent;
+import io.github.m0pt0pmatt.survivalgames.event.PlayerLeftGameEvent;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+
+import java.util.Optional;
+
+/** Passes game events on to the schedule of the game, if it has one. */
+public class ScheduleListener {
+
+    private static final ScheduleListener INSTANCE = new ScheduleListener();
+
+    private ScheduleListener() {
+
+    }
+
+    @Listener(order = Order.POST)
+    public void onStateChanged(GameStateChangedEvent event) {
+        Optional<ScheduleRunner> runner = ScheduleRepository.get(event.getSurvivalGame());
+        if (runner.isPresent()) {
+            runner.get().onStateChanged(event.getNewState());
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onDeathmatch(GameDeathmatchEvent event) {
+        Optional<ScheduleRunner> runner = ScheduleRepository.get(event.getSurvivalGame());
+        if (runner.isPresent()) {
+            runner.get().onDeathmatch();
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerJoined(PlayerJoinedGameEvent event) {
+        Optional<ScheduleRunner> runner = ScheduleRepository.get(event.getSurvivalGame());
+        if (runner.isPresent()) {
+            runner.get().onPlayersChanged();
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerLeft(PlayerLeftGameEvent event) {
+        Optional<ScheduleRunner> runner = ScheduleRepository.get(event.getSurvivalGame());
+        if (runner.isPresent()) {
+            runner.get().onPlayersChanged();
+        }
+    }
+
+    public static ScheduleListener getInstance() {
+        return INSTANCE;
+    }
+}
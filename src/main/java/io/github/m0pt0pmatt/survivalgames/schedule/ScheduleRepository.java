@@ -25,7 +25,6 @@
 
 package io.github.m0pt0pmatt.survivalgames.schedule;
 
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.data.Schedule;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 
@@ -51,12 +50,19 @@ public class ScheduleRepository {
                 schedule
         );
 
-        SurvivalGamesPlugin.ASYNC_EXECUTOR.submit(scheduleRunner);
-
         MAP.put(survivalGame, scheduleRunner);
+        scheduleRunner.begin();
     }
 
     public static void unschedule(SurvivalGame survivalGame) {
         Optional.ofNullable(MAP.remove(survivalGame)).ifPresent(ScheduleRunner::cancel);
     }
+
+    public static Optional<Schedule> getSchedule(SurvivalGame survivalGame) {
+        return get(survivalGame).map(ScheduleRunner::getSchedule);
+    }
+
+    static Optional<ScheduleRunner> get(SurvivalGame survivalGame) {
+        return Optional.ofNullable(MAP.get(survivalGame));
+    }
 }
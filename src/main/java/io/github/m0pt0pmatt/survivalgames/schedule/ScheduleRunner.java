@@ -25,26 +25,32 @@
 
 package io.github.m0pt0pmatt.survivalgames.schedule;
 
-import com.google.common.collect.ImmutableMap;
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.RefillStage;
 import io.github.m0pt0pmatt.survivalgames.data.Schedule;
 import io.github.m0pt0pmatt.survivalgames.data.WorldBorderStage;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRunningState;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameState;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameStateManager;
+import io.github.m0pt0pmatt.survivalgames.game.TimingWheel;
+import io.github.m0pt0pmatt.survivalgames.task.FillChestsTask;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-class ScheduleRunner implements Runnable {
+/**
+ * Moves a game through its schedule. The runner is driven by game state events, players joining and
+ * leaving, and timers on the game's timing wheel, all on the main thread. A game waiting for players
+ * has no timers.
+ */
+class ScheduleRunner {
 
     private enum ScheduleState {
         STOPPED,
@@ -53,132 +59,118 @@ class ScheduleRunner implements Runnable {
         RUNNING,
     }
 
-    private final Map<ScheduleState, Runnable> stateFunctions = ImmutableMap.<ScheduleState, Runnable>builder()
-            .put(ScheduleState.STOPPED, this::stopped)
-            .put(ScheduleState.LOBBY, this::lobby)
-            .put(ScheduleState.LOBBY_COUNTDOWN, this::lobbyCountdown)
-            .put(ScheduleState.RUNNING, this::running)
-            .build();
-
     private final SurvivalGame survivalGame;
     private final Schedule schedule;
 
-    // Survival Game states which the runner thinks the game is in
-    private SurvivalGameState savedState;
-    private SurvivalGameRunningState savedRunningState;
+    // Timers belonging to the current state
+    private final List<TimingWheel.Timer> timers = new ArrayList<>();
 
-    // For checking how much time has passed.
-    private Instant startTime;
+    // Retries the prewarm while the arena is being reset, for as long as the lobby lasts
+    private TimingWheel.Timer prewarmTimer;
 
-    // Top level boolean for cancelling
-    private boolean shouldRun = true;
-
-    // Scheduler state
     private ScheduleState state;
-
-    // For moving the border
-    private int borderIndex = 0;
-
-    private boolean isDeathmatch = false;
+    private boolean cancelled;
 
     ScheduleRunner(SurvivalGame survivalGame, Schedule schedule) {
         this.survivalGame = survivalGame;
         this.schedule = schedule;
-
-        setState(survivalGame.getState());
-        setRunningState(survivalGame.getRunningState());
     }
 
-    private void setState(SurvivalGameState currentState) {
-        ScheduleState newState = null;
-        if (currentState.equals(SurvivalGameState.RUNNING)) {
-            newState = ScheduleState.RUNNING;
-        } else if (currentState.equals(SurvivalGameState.STOPPED)) {
-            newState = ScheduleState.STOPPED;
-        } else if (currentState.equals(SurvivalGameState.READY)) {
-            newState = ScheduleState.LOBBY;
+    /** Picks up the game from whatever state it is in. */
+    void begin() {
+        onStateChanged(survivalGame.getState());
+        if (survivalGame.getRunningState() == SurvivalGameRunningState.DEATH_MATCH) {
+            onDeathmatch();
         }
-        toState(newState, null, null);
-        savedState = currentState;
     }
 
-    private void setRunningState(SurvivalGameRunningState currentState) {
-        SurvivalGameRunningState newState = null;
-        if (currentState.equals(SurvivalGameRunningState.STOPPED)) {
-            newState = SurvivalGameRunningState.STOPPED;
-            isDeathmatch = false;
-        } else if (currentState.equals(SurvivalGameRunningState.IN_PROGRESS)) {
-            newState = SurvivalGameRunningState.IN_PROGRESS;
-            isDeathmatch = false;
-        } else if (currentState.equals(SurvivalGameRunningState.DEATH_MATCH)) {
-            newState = SurvivalGameRunningState.DEATH_MATCH;
-            isDeathmatch = true;
-        }
-        borderIndex = 0;
-        savedRunningState = newState;
+    Schedule getSchedule() {
+        return schedule;
     }
 
-    @Override
-    public void run() {
-        while(shouldRun) {
-
-            try {
-                // check that state hasn't changed externally
-                SurvivalGameState current = survivalGame.getState();
-                if (current != savedState) {
-                    setState(current);
-                }
+    void cancel() {
+        cancelled = true;
+        cancelTimers();
+        cancelPrewarm();
+    }
 
-                SurvivalGameRunningState currentRunning = survivalGame.getRunningState();
-                if (currentRunning != savedRunningState) {
-                    setRunningState(currentRunning);
-                }
+    void onStateChanged(SurvivalGameState newState) {
+        if (cancelled) {
+            return;
+        }
 
-                // Handle state
-                Optional.ofNullable(stateFunctions.get(this.state)).ifPresent(Runnable::run);
-            } catch (Exception e) {
-                e.printStackTrace();
+        cancelTimers();
+        cancelPrewarm();
+        if (newState == SurvivalGameState.STOPPED) {
+            state = ScheduleState.STOPPED;
+
+            // Ready the game as soon as possible
+            after(0, TimeUnit.SECONDS, this::ready);
+        } else if (newState == SurvivalGameState.READY) {
+            state = ScheduleState.LOBBY;
+            lobby();
+        } else if (newState == SurvivalGameState.RUNNING) {
+            state = ScheduleState.RUNNING;
+            scheduleBorderStage(schedule.getWorldBorderStages(), 0);
+            for (RefillStage stage : schedule.getRefillStages()) {
+                after(stage.getWaitTime(), this::refill);
             }
+        }
+    }
 
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                break;
-            }
+    void onDeathmatch() {
+        if (cancelled || state != ScheduleState.RUNNING) {
+            return;
         }
+
+        // Chests are not refilled during the deathmatch
+        cancelTimers();
+        scheduleBorderStage(schedule.getDeathMatchStages(), 0);
     }
 
-    void cancel() {
-        shouldRun = false;
+    void onPlayersChanged() {
+        if (!cancelled && state == ScheduleState.LOBBY) {
+            lobby();
+        }
     }
 
-    private void stopped() {
+    private void ready() {
+        if (survivalGame.getState() != SurvivalGameState.STOPPED) {
+            return;
+        }
+
+        survivalGame.sendMessage(Text.of("Readying game"));
+        try {
+            SurvivalGameStateManager.ready(survivalGame);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
 
-        // Ready the game as soon as possible
-        toState(ScheduleState.LOBBY, () -> SurvivalGameStateManager.ready(survivalGame), Text.of("Readying game"));
+        // Try again later if the game could not be readied
+        if (survivalGame.getState() == SurvivalGameState.STOPPED) {
+            after(1, TimeUnit.SECONDS, this::ready);
+        }
     }
 
     private void lobby() {
 
         // No reason to start a game if there'a no players
         if (survivalGame.getPlayerCount() == 0) {
-            startTime = null;
+            cancelTimers();
+            cancelPrewarm();
             return;
         }
 
-        if (startTime == null) {
-            startTime = Instant.now();
-        }
+        prewarm();
 
-        if (schedule.getLobbyTimeLimit().isPresent()) {
+        // A full game has nobody left to wait for
+        if (survivalGame.getConfig().getPlayerLimit().filter(limit -> survivalGame.getPlayerCount() >= limit).isPresent()) {
+            lobbyCountdown();
+        } else if (schedule.getLobbyTimeLimit().isPresent()) {
 
-            // Check if enough time has passed
-            Instant now = Instant.now();
-            Duration lobbyTimeLimit = schedule.getLobbyTimeLimit().get();
-            Instant change = startTime.plus(lobbyTimeLimit);
-            if (now.isAfter(change)) {
-                toState(ScheduleState.LOBBY_COUNTDOWN, null, null);
+            // Wait out the time limit, counted from when the first player joined
+            if (timers.isEmpty()) {
+                after(schedule.getLobbyTimeLimit().get(), this::lobbyCountdown);
             }
 
         } else if (schedule.getMinimumPlayerCount().isPresent()) {
@@ -186,90 +178,127 @@ class ScheduleRunner implements Runnable {
             // Check if enough players have joined
             Integer minPlayerCount = schedule.getMinimumPlayerCount().get();
             if (survivalGame.getPlayerCount() > minPlayerCount) {
-                toState(ScheduleState.LOBBY_COUNTDOWN, null, null);
+                lobbyCountdown();
             }
 
         } else {
             // No lobby time limit so start the lobby countdown
-            toState(ScheduleState.LOBBY_COUNTDOWN, null, null);
+            lobbyCountdown();
         }
     }
 
     private void lobbyCountdown() {
+        cancelTimers();
+        state = ScheduleState.LOBBY_COUNTDOWN;
 
-        Runnable start = () -> {
-            SurvivalGameStateManager.start(survivalGame);
-            borderIndex = 0;
-        };
-
-        if (startTime == null) {
-            startTime = Instant.now();
+        if (!schedule.getLobbyCountdown().isPresent()) {
+            // Start immediately
+            start();
+            return;
         }
 
-        if (schedule.getLobbyCountdown().isPresent()) {
-            Instant now = Instant.now();
-            Duration lobbyCountDown = schedule.getLobbyCountdown().get();
-            Instant change = startTime.plus(lobbyCountDown);
-            if (now.isAfter(change)) {
-                toState(ScheduleState.RUNNING, start, Text.of("Starting game"));
-            } else {
-                survivalGame.sendMessage(Text.of("Game starts in ", lobbyCountDown.minus(Duration.between(startTime, now)).getSeconds(), " seconds"));
+        long seconds = schedule.getLobbyCountdown().get().getSeconds();
+        timers.add(survivalGame.getTimingWheel().scheduleAtFixedRate(new Runnable() {
+
+            private long remaining = seconds;
+
+            @Override
+            public void run() {
+                if (remaining <= 0) {
+                    start();
+                } else {
+                    survivalGame.sendMessage(Text.of("Game starts in ", remaining, " seconds"));
+                    remaining--;
+                }
             }
-        } else {
-            // Start immediately
-            toState(ScheduleState.RUNNING, start, Text.of("Starting game"));
+        }, 0, 1, TimeUnit.SECONDS));
+    }
+
+    private void prewarm() {
+        SurvivalGameStateManager.prewarm(survivalGame);
+
+        // The prewarm waits for a running reset, so check back until the reset is done
+        if (!survivalGame.isPrewarmed() && survivalGame.isResetRunning() && (prewarmTimer == null || prewarmTimer.isCancelled())) {
+            prewarmTimer = survivalGame.getTimingWheel().scheduleAtFixedRate(() -> {
+                if (!survivalGame.isResetRunning()) {
+                    cancelPrewarm();
+                    SurvivalGameStateManager.prewarm(survivalGame);
+                }
+            }, 1, 1, TimeUnit.SECONDS);
         }
     }
 
-    private void running() {
+    private void start() {
+        cancelTimers();
 
-        if (survivalGame.getState().equals(SurvivalGameState.STOPPED)) {
-            toState(ScheduleState.STOPPED, null, null);
+        // The game cannot start until its arena has been reset, so wait for the reset to finish
+        if (survivalGame.isResetRunning()) {
+            survivalGame.sendMessage(Text.of("Waiting for the arena to be reset"));
+            after(1, TimeUnit.SECONDS, this::awaitReset);
             return;
         }
 
-        if (startTime == null) {
-            startTime = Instant.now();
-        }
+        cancelPrewarm();
+        survivalGame.sendMessage(Text.of("Starting game"));
+        SurvivalGameStateManager.start(survivalGame);
+    }
 
-        List<WorldBorderStage> stages;
-        if (isDeathmatch) {
-            stages = schedule.getDeathMatchStages();
+    private void awaitReset() {
+        if (survivalGame.isResetRunning()) {
+            after(1, TimeUnit.SECONDS, this::awaitReset);
         } else {
-            stages = schedule.getWorldBorderStages();
+            start();
         }
+    }
 
-        if (stages.size() <= borderIndex) {
+    private void scheduleBorderStage(List<WorldBorderStage> stages, int index) {
+        if (stages.size() <= index) {
             return;
         }
 
-        WorldBorderStage stage = stages.get(borderIndex);
-        Instant now = Instant.now();
-        Instant change = startTime.plus(stage.getWaitTime());
-        if (now.isAfter(change)) {
-
+        WorldBorderStage stage = stages.get(index);
+        after(stage.getWaitTime(), () -> {
             String worldName = survivalGame.getConfig().getWorldName().orElseThrow(() -> new RuntimeException("world-name"));
             World world = Sponge.getServer().getWorld(worldName).orElseThrow(() -> new RuntimeException("world"));
             WorldBorder wb = world.getWorldBorder();
 
             double newDiameter = Double.max(wb.getDiameter() - stage.getDiameterDelta(), 0.0);
             wb.setDiameter(newDiameter, stage.getMovementTime().toMillis());
-            borderIndex++;
-            startTime = null;
             survivalGame.sendMessage(Text.of("The border is starting to shrink..."));
+
+            // Each stage waits from when the last one started
+            scheduleBorderStage(stages, index + 1);
+        });
+    }
+
+    private void refill() {
+        try {
+            FillChestsTask.refill(survivalGame);
+            survivalGame.sendMessage(Text.of("The chests have been refilled!"));
+        } catch (TextMessageException e) {
+            e.printStackTrace();
         }
     }
 
-    private void toState(ScheduleState targetState, Runnable setState, Text message) {
-        SurvivalGamesPlugin.SYNC_EXECUTOR.submit(() -> {
-            if (message != null) {
-                survivalGame.sendMessage(message);
-            }
-            if (setState != null) {
-                setState.run();
-            }
-            startTime = null;
-            state = targetState;
-        });
+    private void after(Duration delay, Runnable task) {
+        after(delay.toMillis(), TimeUnit.MILLISECONDS, task);
+    }
+
+    private void after(long delay, TimeUnit timeUnit, Runnable task) {
+        timers.add(survivalGame.getTimingWheel().schedule(task, delay, timeUnit));
+    }
+
+    private void cancelTimers() {
+        for (TimingWheel.Timer timer : timers) {
+            timer.cancel();
+        }
+        timers.clear();
+    }
+
+    private void cancelPrewarm() {
+        if (prewarmTimer != null) {
+            prewarmTimer.cancel();
+            prewarmTimer = null;
+        }
     }
 }
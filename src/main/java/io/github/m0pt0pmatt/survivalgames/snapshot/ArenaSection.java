@@ -0,0 +1,167 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.block.BlockState;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A 16x16x16 chunk section of an {@link ArenaSnapshot}. Block states are stored once in a palette,
+ * and each block is an index into that palette, bit-packed into longs. The packed data may live on
+ * the heap or directly in a mapped {@link ArenaSnapshotFile}.
+ */
+public final class ArenaSection {
+
+    public static final int SIZE = 16;
+    public static final int VOLUME = SIZE * SIZE * SIZE;
+
+    private final BlockState[] palette;
+    private final int bits;
+    private final LongBuffer data;
+
+    ArenaSection(BlockState[] palette, int bits, LongBuffer data) {
+        this.palette = palette;
+        this.bits = bits;
+        this.data = data;
+    }
+
+    /**
+     * Gets the block state at an index within this section.
+     *
+     * @param index The index, as returned by {@link #index(int, int, int)}.
+     * @return The block state.
+     */
+    public BlockState get(int index) {
+        if (bits == 0) {
+            return palette[0];
+        }
+
+        int perLong = 64 / bits;
+        long word = data.get(index / perLong);
+        int shift = (index % perLong) * bits;
+        return palette[(int) ((word >>> shift) & ((1L << bits) - 1))];
+    }
+
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    public BlockState getPaletteEntry(int id) {
+        return palette[id];
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * Gets the packed palette indices. Empty if every block shares the same state.
+     *
+     * @return A read-only view of the packed data.
+     */
+    public LongBuffer getData() {
+        return data == null ? LongBuffer.allocate(0) : data.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the number of longs needed to pack a section with the given number of bits per block.
+     *
+     * @param bits The bits per block.
+     * @return The number of longs.
+     */
+    static int dataLength(int bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        int perLong = 64 / bits;
+        return (VOLUME + perLong - 1) / perLong;
+    }
+
+    /**
+     * Converts coordinates local to a section into an index.
+     *
+     * @param x The local x coordinate, between 0 and 15.
+     * @param y The local y coordinate, between 0 and 15.
+     * @param z The local z coordinate, between 0 and 15.
+     * @return The index.
+     */
+    public static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Collects the blocks of a section, then packs them once every block is known. */
+    public static final class Builder {
+
+        private final Map<BlockState, Integer> ids = new HashMap<>();
+        private final List<BlockState> palette = new ArrayList<>();
+        private final short[] indices = new short[VOLUME];
+
+        private Builder() {
+
+        }
+
+        public Builder set(int index, BlockState state) {
+            checkNotNull(state, "state");
+            Integer id = ids.get(state);
+            if (id == null) {
+                id = palette.size();
+                ids.put(state, id);
+                palette.add(state);
+            }
+            indices[index] = id.shortValue();
+            return this;
+        }
+
+        public ArenaSection build() {
+            checkArgument(!palette.isEmpty(), "A section needs at least one block");
+
+            int bits = palette.size() == 1 ? 0 : 32 - Integer.numberOfLeadingZeros(palette.size() - 1);
+            LongBuffer data = null;
+            if (bits > 0) {
+                int perLong = 64 / bits;
+                long[] packed = new long[dataLength(bits)];
+                for (int i = 0; i < VOLUME; i++) {
+                    packed[i / perLong] |= ((long) indices[i]) << ((i % perLong) * bits);
+                }
+                data = LongBuffer.wrap(packed);
+            }
+
+            return new ArenaSection(palette.toArray(new BlockState[0]), bits, data);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.DataContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A compact copy of every block inside a game's block area. Blocks are grouped into chunk sections
+ * (see {@link ArenaSection}), and tile entities are kept separately as serialized block snapshots.
+ *
+ * <p>Sections are ordered by chunk column, and bottom to top within a column.
+ */
+public final class ArenaSnapshot {
+
+    private final Vector3i min;
+    private final Vector3i max;
+    private final Vector3i sectionMin;
+    private final Vector3i sectionCounts;
+    private final ArenaSection[] sections;
+    private final long[] sectionHashes;
+    private final Map<Vector3i, DataContainer> tileEntities = new HashMap<>();
+
+    /**
+     * Creates an empty snapshot.
+     *
+     * @param min The lesser corner of the area, inclusive.
+     * @param max The greater corner of the area, exclusive.
+     */
+    public ArenaSnapshot(Vector3i min, Vector3i max) {
+        this.min = checkNotNull(min, "min");
+        this.max = checkNotNull(max, "max");
+        this.sectionMin = new Vector3i(min.getX() >> 4, min.getY() >> 4, min.getZ() >> 4);
+        this.sectionCounts = new Vector3i(
+                sectionCount(min.getX(), max.getX()),
+                sectionCount(min.getY(), max.getY()),
+                sectionCount(min.getZ(), max.getZ()));
+        this.sections = new ArenaSection[sectionCounts.getX() * sectionCounts.getY() * sectionCounts.getZ()];
+        this.sectionHashes = new long[sections.length];
+    }
+
+    public Vector3i getMin() {
+        return min;
+    }
+
+    public Vector3i getMax() {
+        return max;
+    }
+
+    public long getBlockCount() {
+        return (long) Math.max(0, max.getX() - min.getX())
+                * Math.max(0, max.getY() - min.getY())
+                * Math.max(0, max.getZ() - min.getZ());
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= min.getX() && x < max.getX()
+                && y >= min.getY() && y < max.getY()
+                && z >= min.getZ() && z < max.getZ();
+    }
+
+    public Optional<BlockState> getBlock(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return Optional.empty();
+        }
+
+        ArenaSection section = sections[sectionIndex(x >> 4, y >> 4, z >> 4)];
+        if (section == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(section.get(ArenaSection.index(x & 15, y & 15, z & 15)));
+    }
+
+    public int getSectionCount() {
+        return sections.length;
+    }
+
+    /**
+     * Gets the number of chunk columns covered by the area.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return sectionCounts.getX() * sectionCounts.getZ();
+    }
+
+    /**
+     * Gets the number of sections in each chunk column. The sections of column c have the indices
+     * from c times this number, inclusive, to c plus one times this number, exclusive.
+     *
+     * @return The number of sections per column.
+     */
+    public int getSectionsPerColumn() {
+        return sectionCounts.getY();
+    }
+
+    public Optional<ArenaSection> getSection(int index) {
+        return Optional.ofNullable(sections[index]);
+    }
+
+    /**
+     * Sets a section, and computes its hash.
+     *
+     * @param index The section index.
+     * @param section The section.
+     */
+    public void setSection(int index, ArenaSection section) {
+        sections[index] = checkNotNull(section, "section");
+        long hash = SectionHasher.EMPTY;
+        Vector3i lesser = getSectionMin(index);
+        Vector3i greater = getSectionMax(index);
+        for (int y = lesser.getY(); y < greater.getY(); y++) {
+            for (int z = lesser.getZ(); z < greater.getZ(); z++) {
+                for (int x = lesser.getX(); x < greater.getX(); x++) {
+                    hash = SectionHasher.add(hash, section.get(ArenaSection.index(x & 15, y & 15, z & 15)));
+                }
+            }
+        }
+        sectionHashes[index] = hash;
+    }
+
+    /**
+     * Sets a section whose hash is already known.
+     *
+     * @param index The section index.
+     * @param section The section.
+     * @param hash The hash of the part of the section inside the area.
+     */
+    public void setSection(int index, ArenaSection section, long hash) {
+        sections[index] = checkNotNull(section, "section");
+        sectionHashes[index] = hash;
+    }
+
+    /**
+     * Gets the hash of the part of a section inside the area, as computed by {@link SectionHasher}.
+     *
+     * @param index The section index.
+     * @return The hash.
+     */
+    public long getSectionHash(int index) {
+        return sectionHashes[index];
+    }
+
+    /**
+     * Gets the section coordinates of a section index.
+     *
+     * @param index The section index.
+     * @return The section coordinates, which are world coordinates shifted right by 4.
+     */
+    public Vector3i getSectionPosition(int index) {
+        int y = index % sectionCounts.getY();
+        int column = index / sectionCounts.getY();
+        int x = column % sectionCounts.getX();
+        int z = column / sectionCounts.getX();
+        return sectionMin.add(x, y, z);
+    }
+
+    /**
+     * Gets the index of the section containing the given section coordinates.
+     *
+     * @param sx The section x coordinate.
+     * @param sy The section y coordinate.
+     * @param sz The section z coordinate.
+     * @return The section index.
+     */
+    public int sectionIndex(int sx, int sy, int sz) {
+        int x = sx - sectionMin.getX();
+        int y = sy - sectionMin.getY();
+        int z = sz - sectionMin.getZ();
+        return (z * sectionCounts.getX() + x) * sectionCounts.getY() + y;
+    }
+
+    /**
+     * Gets the lesser corner of the part of a section which lies inside the area.
+     *
+     * @param index The section index.
+     * @return The lesser corner, inclusive.
+     */
+    public Vector3i getSectionMin(int index) {
+        return getSectionPosition(index).mul(ArenaSection.SIZE).max(min);
+    }
+
+    /**
+     * Gets the greater corner of the part of a section which lies inside the area.
+     *
+     * @param index The section index.
+     * @return The greater corner, exclusive.
+     */
+    public Vector3i getSectionMax(int index) {
+        return getSectionPosition(index).add(1, 1, 1).mul(ArenaSection.SIZE).min(max);
+    }
+
+    /**
+     * Gets the number of blocks of a section which lie inside the area.
+     *
+     * @param index The section index.
+     * @return The number of blocks.
+     */
+    public int getSectionVolume(int index) {
+        Vector3i size = getSectionMax(index).sub(getSectionMin(index));
+        return size.getX() * size.getY() * size.getZ();
+    }
+
+    /**
+     * Visits every block of a section which lies inside the area.
+     *
+     * @param index The section index.
+     * @param visitor The visitor. The block state is null if the section has not been set.
+     */
+    public void forEachBlock(int index, BlockVisitor visitor) {
+        ArenaSection section = sections[index];
+        Vector3i lesser = getSectionMin(index);
+        Vector3i greater = getSectionMax(index);
+
+        for (int y = lesser.getY(); y < greater.getY(); y++) {
+            for (int z = lesser.getZ(); z < greater.getZ(); z++) {
+                for (int x = lesser.getX(); x < greater.getX(); x++) {
+                    visitor.visit(x, y, z, section == null ? null : section.get(ArenaSection.index(x & 15, y & 15, z & 15)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a cursor which walks every block in the area, section by section.
+     *
+     * @return The cursor.
+     */
+    public BlockCursor cursor() {
+        int[] sectionIndices = new int[sections.length];
+        for (int i = 0; i < sectionIndices.length; i++) {
+            sectionIndices[i] = i;
+        }
+        return cursor(sectionIndices);
+    }
+
+    /**
+     * Creates a cursor which walks every block of some sections.
+     *
+     * @param sectionIndices The indices of the sections to walk, in order.
+     * @return The cursor.
+     */
+    public BlockCursor cursor(int[] sectionIndices) {
+        return new BlockCursor(this, sectionIndices);
+    }
+
+    /**
+     * Gets the tile entities inside the area, stored as serialized {@link
+     * org.spongepowered.api.block.BlockSnapshot}s.
+     *
+     * @return The tile entities, keyed by position.
+     */
+    public Map<Vector3i, DataContainer> getTileEntities() {
+        return tileEntities;
+    }
+
+    private static int sectionCount(int min, int max) {
+        return max > min ? ((max - 1) >> 4) - (min >> 4) + 1 : 0;
+    }
+
+    /** Visits a single block of an {@link ArenaSnapshot}. */
+    @FunctionalInterface
+    public interface BlockVisitor {
+        void visit(int x, int y, int z, BlockState state);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.persistence.DataFormats;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes {@link ArenaSnapshot}s in a binary format, stored next to the game's config file.
+ *
+ * <p>The file starts with the area bounds, a palette of every block state id used, and an offset
+ * table with one entry per section. Sections follow in order, each with its hash, and serialized
+ * tile entities come last. Loaded snapshots read their packed block data straight from the mapped file.
+ */
+public final class ArenaSnapshotFile {
+
+    public static final String EXTENSION = ".arena";
+
+    private static final int MAGIC = 0x53474152;
+    private static final int VERSION = 2;
+    private static final long ABSENT = -1;
+
+    private ArenaSnapshotFile() {
+
+    }
+
+    /**
+     * Gets the snapshot file belonging to a config file.
+     *
+     * @param configFile The config file.
+     * @return The snapshot file, in the same directory.
+     */
+    public static Path getPath(Path configFile) {
+        String name = configFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        return configFile.resolveSibling(name + EXTENSION);
+    }
+
+    /**
+     * Writes a snapshot. The file is written to a temporary file first and then moved into place, so
+     * a snapshot mapped from the old file stays readable while it is being saved.
+     *
+     * @param snapshot The snapshot.
+     * @param path The file to write.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(ArenaSnapshot snapshot, Path path) throws IOException {
+        Map<BlockState, Integer> paletteIds = new HashMap<>();
+        List<BlockState> palette = new ArrayList<>();
+        for (int i = 0; i < snapshot.getSectionCount(); i++) {
+            snapshot.getSection(i).ifPresent(section -> {
+                for (int id = 0; id < section.getPaletteSize(); id++) {
+                    BlockState state = section.getPaletteEntry(id);
+                    if (!paletteIds.containsKey(state)) {
+                        paletteIds.put(state, palette.size());
+                        palette.add(state);
+                    }
+                }
+            });
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        writeVector(header, snapshot.getMin());
+        writeVector(header, snapshot.getMax());
+        header.writeInt(palette.size());
+        for (BlockState state : palette) {
+            byte[] id = state.getId().getBytes(StandardCharsets.UTF_8);
+            header.writeInt(id.length);
+            header.write(id);
+        }
+        header.writeInt(snapshot.getSectionCount());
+        header.flush();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            headerBytes.writeTo(out);
+
+            // Section sizes are known up front, so the offset table is written before the sections.
+            long offset = headerBytes.size() + 8L * snapshot.getSectionCount();
+            for (int i = 0; i < snapshot.getSectionCount(); i++) {
+                ArenaSection section = snapshot.getSection(i).orElse(null);
+                if (section == null) {
+                    out.writeLong(ABSENT);
+                } else {
+                    out.writeLong(offset);
+                    offset += sectionSize(section);
+                }
+            }
+
+            for (int i = 0; i < snapshot.getSectionCount(); i++) {
+                ArenaSection section = snapshot.getSection(i).orElse(null);
+                if (section == null) {
+                    continue;
+                }
+
+                out.writeLong(snapshot.getSectionHash(i));
+                out.writeInt(section.getPaletteSize());
+                for (int id = 0; id < section.getPaletteSize(); id++) {
+                    out.writeInt(paletteIds.get(section.getPaletteEntry(id)));
+                }
+                out.writeInt(section.getBits());
+                LongBuffer data = section.getData();
+                while (data.hasRemaining()) {
+                    out.writeLong(data.get());
+                }
+            }
+
+            out.writeInt(snapshot.getTileEntities().size());
+            for (Map.Entry<Vector3i, DataContainer> entry : snapshot.getTileEntities().entrySet()) {
+                ByteArrayOutputStream tileEntity = new ByteArrayOutputStream();
+                DataFormats.NBT.writeTo(tileEntity, entry.getValue());
+                writeVector(out, entry.getKey());
+                out.writeInt(tileEntity.size());
+                tileEntity.writeTo(out);
+            }
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param path The file to read.
+     * @return The snapshot.
+     * @throws IOException If the file could not be read, or is not a snapshot file.
+     */
+    public static ArenaSnapshot read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not an arena snapshot: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION && version != 1) {
+            throw new IOException("Unsupported arena snapshot version " + version + ": " + path);
+        }
+
+        ArenaSnapshot snapshot = new ArenaSnapshot(readVector(buffer), readVector(buffer));
+
+        BlockState[] palette = new BlockState[buffer.getInt()];
+        for (int id = 0; id < palette.length; id++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            palette[id] = getBlockState(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        int sectionCount = buffer.getInt();
+        if (sectionCount != snapshot.getSectionCount()) {
+            throw new IOException("Section count does not match the area bounds: " + path);
+        }
+
+        long[] offsets = new long[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            offsets[i] = buffer.getLong();
+        }
+
+        for (int i = 0; i < sectionCount; i++) {
+            if (offsets[i] == ABSENT) {
+                continue;
+            }
+
+            buffer.position((int) offsets[i]);
+            // Version 1 did not store section hashes.
+            Long hash = version == 1 ? null : buffer.getLong();
+            BlockState[] sectionPalette = new BlockState[buffer.getInt()];
+            for (int id = 0; id < sectionPalette.length; id++) {
+                sectionPalette[id] = palette[buffer.getInt()];
+            }
+            int bits = buffer.getInt();
+            int length = ArenaSection.dataLength(bits);
+
+            LongBuffer data = null;
+            if (length > 0) {
+                ByteBuffer view = buffer.duplicate();
+                view.limit(buffer.position() + length * 8);
+                data = view.slice().asLongBuffer();
+                buffer.position(buffer.position() + length * 8);
+            }
+
+            if (hash == null) {
+                snapshot.setSection(i, new ArenaSection(sectionPalette, bits, data));
+            } else {
+                snapshot.setSection(i, new ArenaSection(sectionPalette, bits, data), hash);
+            }
+        }
+
+        int tileEntityCount = buffer.getInt();
+        for (int i = 0; i < tileEntityCount; i++) {
+            Vector3i position = readVector(buffer);
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            snapshot.getTileEntities().put(position, DataFormats.NBT.readFrom(new ByteArrayInputStream(bytes)));
+        }
+
+        return snapshot;
+    }
+
+    private static long sectionSize(ArenaSection section) {
+        return 8 + 4 + 4L * section.getPaletteSize() + 4 + 8L * ArenaSection.dataLength(section.getBits());
+    }
+
+    private static BlockState getBlockState(String id) {
+        return Sponge.getRegistry().getType(BlockState.class, id).orElseGet(() -> {
+            SurvivalGamesPlugin.LOGGER.warn("Unknown block state {} in arena snapshot, using air", id);
+            return BlockTypes.AIR.getDefaultState();
+        });
+    }
+
+    private static void writeVector(DataOutputStream out, Vector3i vector) throws IOException {
+        out.writeInt(vector.getX());
+        out.writeInt(vector.getY());
+        out.writeInt(vector.getZ());
+    }
+
+    private static Vector3i readVector(ByteBuffer buffer) {
+        return new Vector3i(buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tracks which positions of an {@link ArenaSnapshot} have changed in the world, so a reset only
+ * has to restore those positions.
+ *
+ * <p>A journal starts out incomplete, since nothing is known about the world yet. It becomes
+ * complete once the world matches the snapshot, and becomes incomplete again if it overflows or a
+ * restore fails.
+ */
+public final class BlockChangeJournal {
+
+    public static final int DEFAULT_CAPACITY = 100000;
+
+    private final int capacity;
+    private final Set<Vector3i> positions = new HashSet<>();
+    private boolean complete = false;
+
+    public BlockChangeJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BlockChangeJournal(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Whether the recorded positions cover every change since the world last matched the snapshot.
+     * Changes are not recorded while the journal is incomplete, since the next reset restores
+     * everything anyway.
+     *
+     * @return True if the journal is complete.
+     */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized int size() {
+        return positions.size();
+    }
+
+    public synchronized void record(Vector3i position) {
+        if (!complete) {
+            return;
+        }
+
+        positions.add(position);
+        if (positions.size() > capacity) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Takes every recorded position, and starts a new journal. The journal is complete afterwards,
+     * since the caller is expected to restore the returned positions, or everything if nothing was
+     * returned. If that restore fails, the caller must {@link #invalidate()} the journal.
+     *
+     * @return The changed positions, or nothing if everything needs to be restored.
+     */
+    public synchronized Optional<Set<Vector3i>> drain() {
+        Optional<Set<Vector3i>> drained = complete ? Optional.of(new HashSet<>(positions)) : Optional.empty();
+        positions.clear();
+        complete = true;
+        return drained;
+    }
+
+    /** Marks the world as matching the snapshot, such as right after the snapshot was taken. */
+    public synchronized void reset() {
+        positions.clear();
+        complete = true;
+    }
+
+    /** Forgets every recorded position, so the next reset restores everything. */
+    public synchronized void invalidate() {
+        positions.clear();
+        complete = false;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import com.flowpowered.math.vector.Vector3i;
+
+/**
+ * Walks the blocks of an {@link ArenaSnapshot} in section order, a few blocks at a time. Sections
+ * are walked bottom to top within each chunk column.
+ */
+public final class BlockCursor {
+
+    private final ArenaSnapshot snapshot;
+    private final int[] sectionIndices;
+
+    private int position = -1;
+    private int sectionIndex;
+    private ArenaSection section;
+    private Vector3i lesser;
+    private Vector3i greater;
+    private int x;
+    private int y;
+    private int z;
+
+    BlockCursor(ArenaSnapshot snapshot, int[] sectionIndices) {
+        this.snapshot = snapshot;
+        this.sectionIndices = sectionIndices;
+        nextSection();
+    }
+
+    public boolean hasNext() {
+        return position < sectionIndices.length;
+    }
+
+    /**
+     * Gets the index of the section the cursor is in.
+     *
+     * @return The section index. Undefined once every block has been visited.
+     */
+    public int getSectionIndex() {
+        return sectionIndex;
+    }
+
+    /**
+     * Gets the number of blocks left in the section the cursor is in.
+     *
+     * @return The number of blocks left, including the next block.
+     */
+    public int remainingInSection() {
+        if (!hasNext()) {
+            return 0;
+        }
+
+        int width = greater.getX() - lesser.getX();
+        int depth = greater.getZ() - lesser.getZ();
+        int volume = width * depth * (greater.getY() - lesser.getY());
+        int offset = ((y - lesser.getY()) * depth + (z - lesser.getZ())) * width + (x - lesser.getX());
+        return volume - offset;
+    }
+
+    /**
+     * Visits the next blocks.
+     *
+     * @param count The maximum number of blocks to visit.
+     * @param visitor The visitor. The block state is null if the section has not been set.
+     * @return The number of blocks visited. Less than count once every block has been visited.
+     */
+    public int advance(int count, ArenaSnapshot.BlockVisitor visitor) {
+        int visited = 0;
+        while (visited < count && hasNext()) {
+            visitor.visit(x, y, z, section == null ? null : section.get(ArenaSection.index(x & 15, y & 15, z & 15)));
+            visited++;
+
+            if (++x < greater.getX()) {
+                continue;
+            }
+            x = lesser.getX();
+            if (++z < greater.getZ()) {
+                continue;
+            }
+            z = lesser.getZ();
+            if (++y < greater.getY()) {
+                continue;
+            }
+            nextSection();
+        }
+        return visited;
+    }
+
+    private void nextSection() {
+        position++;
+        if (!hasNext()) {
+            return;
+        }
+
+        sectionIndex = sectionIndices[position];
+        section = snapshot.getSection(sectionIndex).orElse(null);
+        lesser = snapshot.getSectionMin(sectionIndex);
+        greater = snapshot.getSectionMax(sectionIndex);
+        x = lesser.getX();
+        y = lesser.getY();
+        z = lesser.getZ();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import org.spongepowered.api.block.BlockState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes 64-bit hashes of chunk sections. Block states are hashed by their id, so hashes stay the
+ * same across server restarts and can be stored in {@link ArenaSnapshotFile}s.
+ */
+public final class SectionHasher {
+
+    public static final long EMPTY = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long MIX = 0x9e3779b97f4a7c15L;
+    private static final Map<BlockState, Long> STATE_HASHES = new ConcurrentHashMap<>();
+
+    private SectionHasher() {
+
+    }
+
+    /**
+     * Adds a block to a section hash. Blocks must be added in the order {@link
+     * ArenaSnapshot#forEachBlock} visits them.
+     *
+     * @param hash The hash so far, starting at {@link #EMPTY}.
+     * @param state The block state.
+     * @return The new hash.
+     */
+    public static long add(long hash, BlockState state) {
+        hash = (hash ^ hash(state)) * MIX;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static long hash(BlockState state) {
+        return STATE_HASHES.computeIfAbsent(state, s -> {
+            long hash = EMPTY;
+            String id = s.getId();
+            for (int i = 0; i < id.length(); i++) {
+                hash = (hash ^ id.charAt(i)) * FNV_PRIME;
+            }
+            return hash;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.snapshot;
+
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the sections of an {@link ArenaSnapshot} which no longer match the world, by hashing the
+ * live blocks of each section a few blocks at a time. Must be advanced on the main thread.
+ */
+public final class SectionVerifier {
+
+    private final ArenaSnapshot snapshot;
+    private final World world;
+    private final BlockCursor cursor;
+    private final List<Integer> changedSections = new ArrayList<>();
+
+    private long hash = SectionHasher.EMPTY;
+    private int verifiedSections = 0;
+
+    public SectionVerifier(ArenaSnapshot snapshot, World world) {
+        this.snapshot = snapshot;
+        this.world = world;
+        this.cursor = snapshot.cursor();
+    }
+
+    public boolean isDone() {
+        return !cursor.hasNext();
+    }
+
+    /**
+     * Hashes the next blocks.
+     *
+     * @param count The maximum number of blocks to hash.
+     * @return The number of blocks hashed. Less than count once every section has been verified.
+     */
+    public int advance(int count) {
+        int done = 0;
+        while (done < count && cursor.hasNext()) {
+            int section = cursor.getSectionIndex();
+            int remaining = cursor.remainingInSection();
+            int slice = Math.min(count - done, remaining);
+
+            done += cursor.advance(slice, (x, y, z, state) -> hash = SectionHasher.add(hash, world.getBlock(x, y, z)));
+
+            if (slice == remaining) {
+                if (snapshot.getSection(section).isPresent() && hash != snapshot.getSectionHash(section)) {
+                    changedSections.add(section);
+                }
+                hash = SectionHasher.EMPTY;
+                verifiedSections++;
+            }
+        }
+        return done;
+    }
+
+    public int getVerifiedSections() {
+        return verifiedSections;
+    }
+
+    /**
+     * Gets the sections found to differ from the world so far, in section order.
+     *
+     * @return The section indices.
+     */
+    public int[] getChangedSections() {
+        return changedSections.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
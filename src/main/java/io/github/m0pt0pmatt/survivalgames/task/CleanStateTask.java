@@ -38,11 +38,18 @@ public class CleanStateTask implements Task {
 
     @Override
     public void execute(SurvivalGame survivalGame) throws TextMessageException {
+        survivalGame.cancelBlockRestore();
+        survivalGame.cancelChestFill();
+        survivalGame.releaseChunkTickets();
+        survivalGame.getPulseEngine().restoreAll();
+        survivalGame.getTimingWheel().cancelAll();
+        survivalGame.getUnfilledChests().clear();
         survivalGame.getPlayerSnapshots().clear();
         survivalGame.clearPlayerUUIDs();
         survivalGame.clearSpectatorUUIDs();
-        survivalGame.getCommandBlocks().clear();
+        survivalGame.getCommandBlockIndex().clear();
         survivalGame.getActiveMobSpawners().clear();
+        survivalGame.getSpawnPositionCaches().clear();
         survivalGame.getActiveEventIntervals().clear();
     }
 
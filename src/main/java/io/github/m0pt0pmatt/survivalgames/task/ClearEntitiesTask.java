@@ -25,16 +25,19 @@
 
 package io.github.m0pt0pmatt.survivalgames.task;
 
+import com.flowpowered.math.vector.Vector3d;
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.util.AABB;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.World;
 
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
 
+/** Removes the entities the game created, and any other non-player entity in the block area. */
 public class ClearEntitiesTask implements Task {
 
     private static final ClearEntitiesTask INSTANCE = new ClearEntitiesTask();
@@ -49,9 +52,19 @@ public class ClearEntitiesTask implements Task {
                 getOrThrow(survivalGame.getConfig().getWorldName(), CommandKeys.WORLD_NAME);
         World world = getOrThrow(Sponge.getServer().getWorld(worldName), CommandKeys.WORLD_NAME);
 
-        world.getEntities().stream()
-                .filter(e -> !(e instanceof Player))
-                .forEach(Entity::remove);
+        RemoveOwnedEntitiesTask.getInstance().execute(survivalGame);
+
+        // Only the block area is searched, so entities elsewhere in a shared world are left alone.
+        Vector3d lesserBoundary = getOrThrow(survivalGame.getConfig().getBlockArea().getLesserBoundary(), "lesserBoundary");
+        Vector3d greaterBoundary = getOrThrow(survivalGame.getConfig().getBlockArea().getGreaterBoundary(), "greaterBoundary");
+
+        // A box which is flat on any axis is rejected, so it is at least one block in each direction.
+        Vector3d size = greaterBoundary.sub(lesserBoundary).max(Vector3d.ONE);
+        for (Entity entity : world.getIntersectingEntities(new AABB(lesserBoundary, lesserBoundary.add(size)))) {
+            if (!(entity instanceof Player)) {
+                entity.remove();
+            }
+        }
     }
 
     public static ClearEntitiesTask getInstance() {
@@ -0,0 +1,164 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.task;
+
+import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
+
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
+import io.github.m0pt0pmatt.survivalgames.data.ResetStrategy;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.thread.ProgressBuilder;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.util.TextMessageException;
+import org.spongepowered.api.world.World;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAmount;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resets a game's world by replacing its region files with the ones in the game's template
+ * directory. Only runs for games using {@link ResetStrategy#CLONE_WORLD}.
+ */
+public class CloneWorldTask implements Task {
+
+    private static final Task INSTANCE = new CloneWorldTask();
+
+    private static final String REGION_DIRECTORY = "region";
+
+    private CloneWorldTask() {
+
+    }
+
+    @Override
+    public void execute(SurvivalGame survivalGame) throws TextMessageException {
+        if (survivalGame.getConfig().getResetStrategy().orElse(ResetStrategy.RESTORE_BLOCKS) != ResetStrategy.CLONE_WORLD) {
+            return;
+        }
+
+        String worldName = getOrThrow(survivalGame.getConfig().getWorldName(), CommandKeys.WORLD_NAME);
+        String templateName = getOrThrow(survivalGame.getConfig().getTemplateDirectory(), "template-directory");
+        World world = getOrThrow(Sponge.getServer().getWorld(worldName), CommandKeys.WORLD_NAME);
+
+        Path template = SurvivalGamesPlugin.CONFIG_DIRECTORY.resolve(templateName).resolve(REGION_DIRECTORY);
+        Path target = world.getDirectory().resolve(REGION_DIRECTORY);
+        long start = System.nanoTime();
+        TemporalAmount timeout = Duration.of(5, ChronoUnit.MINUTES);
+
+        // A failed copy must not stop the world from being loaded again.
+        AtomicReference<RuntimeException> copyFailure = new AtomicReference<>();
+
+        CompletableFuture<Void> clone = ProgressBuilder.builder(MessageChannel.TO_CONSOLE, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
+                .runSync(() -> unloadWorld(worldName), "Unloading World", timeout)
+                .runAsync(() -> {
+                    try {
+                        copyRegionFiles(template, target);
+                    } catch (RuntimeException e) {
+                        copyFailure.set(e);
+                    }
+                }, "Copying Region Files", timeout)
+                .runSync(() -> loadWorld(worldName), "Loading World", timeout)
+                .runSync(channel -> {
+                    // The world no longer matches the arena snapshot.
+                    survivalGame.getBlockChangeJournal().invalidate();
+
+                    RuntimeException failure = copyFailure.get();
+                    if (failure != null) {
+                        failure.printStackTrace();
+                        channel.send(Text.of(TextColors.RED, "Could not copy the region files of ", worldName,
+                                " from ", template, ": ", failure.getMessage()));
+                        return;
+                    }
+
+                    channel.send(Text.of("Reset world ", worldName, " in ",
+                            Duration.ofNanos(System.nanoTime() - start).toMillis(), " ms"));
+                }, "", timeout)
+                .start();
+        survivalGame.setWorldClone(clone);
+    }
+
+    private static void unloadWorld(String worldName) {
+        Sponge.getServer().getWorld(worldName).ifPresent(world -> {
+            if (!Sponge.getServer().unloadWorld(world)) {
+                throw new RuntimeException("Could not unload world " + worldName);
+            }
+        });
+    }
+
+    /**
+     * Copies every region file of the template over the world's region files, and deletes region
+     * files the template does not have. Region files are copied, not linked, since the server
+     * rewrites them in place.
+     */
+    private static void copyRegionFiles(Path template, Path target) {
+        try {
+            Files.createDirectories(target);
+
+            Set<Path> copied = new HashSet<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(template)) {
+                for (Path file : files) {
+                    Path destination = target.resolve(file.getFileName().toString());
+                    Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                    copied.add(destination);
+                }
+            }
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(target)) {
+                for (Path file : files) {
+                    if (!copied.contains(file)) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void loadWorld(String worldName) {
+        if (!Sponge.getServer().loadWorld(worldName).isPresent()) {
+            throw new RuntimeException("Could not load world " + worldName + ", check logs");
+        }
+    }
+
+    public static Task getInstance() {
+        return INSTANCE;
+    }
+}
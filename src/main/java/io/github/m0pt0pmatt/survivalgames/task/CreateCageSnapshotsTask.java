@@ -27,7 +27,6 @@ package io.github.m0pt0pmatt.survivalgames.task;
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableSet;
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import java.util.Optional;
 import java.util.Set;
@@ -37,6 +36,7 @@ import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 public class CreateCageSnapshotsTask implements Task {
@@ -63,7 +63,7 @@ public class CreateCageSnapshotsTask implements Task {
 
         int countdownSeconds = survivalGame.getConfig().getCountdownSeconds().orElse(10);
 
-        SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(
+        survivalGame.getTimingWheel().schedule(
                 () -> setBlocks(survivalGame, BlockTypes.AIR), countdownSeconds, TimeUnit.SECONDS);
     }
 
@@ -79,17 +79,13 @@ public class CreateCageSnapshotsTask implements Task {
             return;
         }
 
-        survivalGame
-                .getConfig()
-                .getSpawnPoints()
-                .forEach(
-                        spawnPoint ->
-                                SURROUNDING_BLOCKS.forEach(
-                                        vector3i ->
-                                                world.get()
-                                                        .getLocation(spawnPoint.add(vector3i))
-                                                        .setBlockType(
-                                                                blockType, BlockChangeFlags.ALL)));
+        for (Vector3d spawnPoint : survivalGame.getConfig().getSpawnPoints()) {
+            for (Vector3d offset : SURROUNDING_BLOCKS) {
+                Location<World> location = world.get().getLocation(spawnPoint.add(offset));
+                location.setBlockType(blockType, BlockChangeFlags.ALL);
+                survivalGame.getBlockChangeJournal().record(location.getBlockPosition());
+            }
+        }
     }
 
     public static Task getInstance() {
@@ -23,32 +23,27 @@
  * THE SOFTWARE.
  */
 
-package io.github.m0pt0pmatt.survivalgames.task.player;
+package io.github.m0pt0pmatt.survivalgames.task;
 
 import com.google.common.collect.ImmutableMap;
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
 import io.github.m0pt0pmatt.survivalgames.event.*;
+import io.github.m0pt0pmatt.survivalgames.game.CountdownBroadcaster;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGameRunningState;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.format.TextColors;
-import org.spongepowered.api.text.title.Title;
 import org.spongepowered.api.util.TextMessageException;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
 
 /** Create countdown titles for the start of the game . */
-public class CreateCountdownTask extends PlayerAndSpectatorTask {
+public class CreateCountdownTask implements Task {
+
+    private static final CreateCountdownTask INSTANCE = new CreateCountdownTask();
 
     private static final Map<SurvivalGameRunningState, Function<SurvivalGame, PostCountdownEvent>> postEvents
             = ImmutableMap.<SurvivalGameRunningState, Function<SurvivalGame, PostCountdownEvent>>builder()
@@ -72,47 +67,27 @@ public class CreateCountdownTask extends PlayerAndSpectatorTask {
     }
 
     @Override
-    public void execute(SurvivalGame survivalGame, Player player) throws TextMessageException {
+    public void execute(SurvivalGame survivalGame) throws TextMessageException {
         int countDown =
                 getOrThrow(
                         survivalGame.getConfig().getCountdownSeconds(),
                         CommandKeys.COUNT_DOWN_SECONDS);
 
-        List<Title> titles = new ArrayList<>();
-
-        Text title = Optional.ofNullable(text.get(survivalGame.getRunningState())).orElse(Text.of("Game"));
-
-        for (int i = 0; i < countDown + 1; i++) {
-            titles.add(
-                    Title.builder()
-                            .fadeIn(5)
-                            .stay(20)
-                            .fadeOut(5)
-                            .title(Text.of(TextColors.RED, title, " begins in..."))
-                            .subtitle(Text.of(TextColors.RED, countDown - i))
-                            .build());
-        }
-
-        for (int i = 0; i < countDown + 1; i++) {
-            final int j = i;
-            SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(
-                    () -> player.sendTitle(titles.get(j)), i, TimeUnit.SECONDS);
-        }
-
-        Optional.ofNullable(preEvents.get(survivalGame.getRunningState()))
-                .map(f -> f.apply(survivalGame))
-                .ifPresent(e -> Sponge.getEventManager().post(e));
-
-        Optional.ofNullable(postEvents.get(survivalGame.getRunningState()))
-                .map(f -> f.apply(survivalGame))
-                .ifPresent(e ->
-                        SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(
-                                () -> Sponge.getEventManager().post(e),
-                                countDown,
-                                TimeUnit.SECONDS));
+        SurvivalGameRunningState runningState = survivalGame.getRunningState();
+        Text title = Optional.ofNullable(text.get(runningState)).orElse(Text.of("Game"));
+
+        Function<SurvivalGame, PreCountdownEvent> preEvent = preEvents.get(runningState);
+        Function<SurvivalGame, PostCountdownEvent> postEvent = postEvents.get(runningState);
+
+        CountdownBroadcaster.start(
+                survivalGame,
+                title,
+                countDown,
+                preEvent == null ? null : preEvent.apply(survivalGame),
+                postEvent == null ? null : postEvent.apply(survivalGame));
     }
 
     public static CreateCountdownTask getInstance() {
-        return new CreateCountdownTask();
+        return INSTANCE;
     }
 }
@@ -25,7 +25,6 @@
 
 package io.github.m0pt0pmatt.survivalgames.task;
 
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import java.util.concurrent.TimeUnit;
 import org.spongepowered.api.util.TextMessageException;
@@ -49,7 +48,7 @@ public class DelayedTask implements Task {
 
     @Override
     public void execute(SurvivalGame survivalGame) throws TextMessageException {
-        SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(
+        survivalGame.getTimingWheel().schedule(
                 () -> {
                     try {
                         task.execute(survivalGame);
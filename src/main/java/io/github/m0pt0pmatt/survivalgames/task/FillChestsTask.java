@@ -27,13 +27,27 @@ package io.github.m0pt0pmatt.survivalgames.task;
 
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
 
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
+import io.github.m0pt0pmatt.survivalgames.data.Area;
+import io.github.m0pt0pmatt.survivalgames.data.ChestFillMode;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
-
-import java.util.Random;
+import io.github.m0pt0pmatt.survivalgames.loot.LootPlanner;
+import io.github.m0pt0pmatt.survivalgames.loot.LootTable;
+import io.github.m0pt0pmatt.survivalgames.thread.FillChestsProgressable;
+import io.github.m0pt0pmatt.survivalgames.thread.ProgressBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.block.tileentity.carrier.Chest;
-import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.World;
 
@@ -41,10 +55,24 @@ import org.spongepowered.api.world.World;
 public class FillChestsTask implements Task {
 
     private static final Task INSTANCE = new FillChestsTask();
-    private static final Random RANDOM = new Random();
 
     @Override
     public void execute(SurvivalGame survivalGame) throws TextMessageException {
+        fill(survivalGame, true);
+    }
+
+    /**
+     * Refills the chests of a running game. Every chest is filled over the next ticks, including the
+     * chests around the spawn points, so a refill never fills many chests in one tick.
+     *
+     * @param survivalGame The survival game.
+     * @throws TextMessageException If the game's config is missing a setting.
+     */
+    public static void refill(SurvivalGame survivalGame) throws TextMessageException {
+        fill(survivalGame, false);
+    }
+
+    private static void fill(SurvivalGame survivalGame, boolean fillSpawnChests) throws TextMessageException {
 
         String worldName =
                 getOrThrow(survivalGame.getConfig().getWorldName(), CommandKeys.WORLD_NAME);
@@ -54,30 +82,62 @@ public class FillChestsTask implements Task {
         Integer chestRange =
                 getOrThrow(survivalGame.getConfig().getChestRange(), CommandKeys.CHEST_RANGE);
 
-        world.getTileEntities().forEach(
-                tileEntity -> {
-                    if (tileEntity instanceof Chest) {
-                        Chest chest = (Chest) tileEntity;
-                        chest.getInventory().clear();
-
-                        if (!survivalGame.getConfig().getItemConfig().getItems().isEmpty()) {
-
-                            double itemCount = (chestMidpoint + ((RANDOM.nextDouble() * chestRange) * (RANDOM.nextDouble() > 0.5 ? 1 : -1)));
-                            for (int i = 0; i < itemCount; i++) {
-                                ItemStackSnapshot stackSnapshot = survivalGame
-                                                .getConfig()
-                                                .getItemConfig()
-                                                .getItems()
-                                                .get(RANDOM.nextInt(survivalGame
-                                                        .getConfig()
-                                                        .getItemConfig()
-                                                        .getItems()
-                                                        .size()));
-                                chest.getInventory().offer(stackSnapshot.createStack());
-                            }
-                        }
-                    }
-                });
+        // Configs saved before the chest index existed have to scan the block area instead.
+        Collection<Vector3i> chestPositions = survivalGame.getConfig().getChestPositions().orElse(null);
+        if (chestPositions == null) {
+            Area blockArea = survivalGame.getConfig().getBlockArea();
+            chestPositions = new ArrayList<>();
+            for (TileEntity tileEntity : world.getTileEntities()) {
+                Vector3i position = tileEntity.getLocation().getBlockPosition();
+                if (tileEntity instanceof Chest && blockArea.contains(position)) {
+                    chestPositions.add(position);
+                }
+            }
+        }
+
+        // Lazy chests cost nothing until they are opened.
+        if (survivalGame.getConfig().getChestFillMode().orElse(ChestFillMode.EAGER) == ChestFillMode.LAZY) {
+            survivalGame.getUnfilledChests().clear();
+            survivalGame.getUnfilledChests().addAll(chestPositions);
+            return;
+        }
+
+        if (!fillSpawnChests) {
+            fillLater(survivalGame, world, chestPositions, chestMidpoint, chestRange);
+            return;
+        }
+
+        // Players can reach the chests around their spawn point at once, so those are filled now.
+        int radius = survivalGame.getConfig().getSpawnChestRadius().filter(r -> r >= 0).orElse(GameConfig.DEFAULT_SPAWN_CHEST_RADIUS);
+        List<Vector3d> spawnPoints = survivalGame.getConfig().getSpawnPoints();
+        LootTable lootTable = survivalGame.getConfig().getItemConfig().getLootTable();
+        Set<Vector3i> viewed = FillChestsProgressable.getViewedChests(survivalGame);
+        List<Vector3i> laterChests = new ArrayList<>();
+        for (Vector3i position : chestPositions) {
+            if (LootPlanner.distanceToSpawnSquared(position, spawnPoints) > (double) radius * radius) {
+                laterChests.add(position);
+                continue;
+            }
+
+            Optional<TileEntity> tileEntity = world.getTileEntity(position);
+            if (tileEntity.isPresent() && tileEntity.get() instanceof Chest && !viewed.contains(position)) {
+                LootPlanner.plan(position, lootTable, survivalGame.getRandom(), chestMidpoint, chestRange)
+                        .apply((Chest) tileEntity.get(), lootTable);
+            }
+        }
+
+        fillLater(survivalGame, world, laterChests, chestMidpoint, chestRange);
+    }
+
+    /** Plans the chests asynchronously and puts the items into them over the next ticks. */
+    private static void fillLater(
+            SurvivalGame survivalGame, World world, Collection<Vector3i> chestPositions, int chestMidpoint, int chestRange) {
+        FillChestsProgressable progressable = new FillChestsProgressable(survivalGame, world, chestPositions, chestMidpoint, chestRange);
+        survivalGame.setChestFill(progressable.getCompletion());
+
+        ProgressBuilder.builder(MessageChannel.TO_CONSOLE, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
+                .runAsync(progressable, "Filling Chests", null)
+                .start();
     }
 
     public static Task getInstance() {
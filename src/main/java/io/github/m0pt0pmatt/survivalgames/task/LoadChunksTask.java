@@ -26,14 +26,21 @@
 package io.github.m0pt0pmatt.survivalgames.task;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
+import io.github.m0pt0pmatt.survivalgames.game.ChunkTickets;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.thread.LoadChunksProgressable;
+import io.github.m0pt0pmatt.survivalgames.thread.ProgressBuilder;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.World;
 
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
 
+/** Loads the chunks of the block area in the background, and keeps them loaded until the game stops. */
 public class LoadChunksTask implements Task {
 
     private static final LoadChunksTask INSTANCE = new LoadChunksTask();
@@ -48,18 +55,18 @@ public class LoadChunksTask implements Task {
         String worldName = getOrThrow(survivalGame.getConfig().getWorldName(), CommandKeys.WORLD_NAME);
         World world = getOrThrow(Sponge.getServer().getWorld(worldName), CommandKeys.WORLD_NAME);
 
-        // Force chunks to be loaded
+        // Chunk bounds are computed once, not on every iteration.
         Vector3d lesserBoundary = getOrThrow(survivalGame.getConfig().getBlockArea().getLesserBoundary(), "lesserBoundary");
         Vector3d greaterBoundary = getOrThrow(survivalGame.getConfig().getBlockArea().getGreaterBoundary(), "greaterBoundary");
-        for (int x = world.getLocation(lesserBoundary).getChunkPosition().getX();
-                x <= world.getLocation(greaterBoundary).getChunkPosition().getX();
-                x++) {
-            for (int z = world.getLocation(lesserBoundary).getChunkPosition().getZ();
-                    z <= world.getLocation(greaterBoundary).getChunkPosition().getZ();
-                    z++) {
-                world.loadChunk(x, 0, z, false);
-            }
-        }
+        Vector3i minChunk = world.getLocation(lesserBoundary).getChunkPosition();
+        Vector3i maxChunk = world.getLocation(greaterBoundary).getChunkPosition();
+
+        ChunkTickets tickets = new ChunkTickets();
+        survivalGame.setChunkTickets(tickets);
+
+        ProgressBuilder.builder(MessageChannel.TO_CONSOLE, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
+                .runAsync(new LoadChunksProgressable(survivalGame, world, tickets, minChunk, maxChunk), "Loading Chunks", null)
+                .start();
     }
 
     public static LoadChunksTask getInstance() {
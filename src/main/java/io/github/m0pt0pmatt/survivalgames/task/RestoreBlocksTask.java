@@ -26,15 +26,16 @@
 package io.github.m0pt0pmatt.survivalgames.task;
 
 import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.ResetStrategy;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 
 import io.github.m0pt0pmatt.survivalgames.thread.ProgressBuilder;
 import io.github.m0pt0pmatt.survivalgames.thread.ResetBlocksProgressable;
+import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.util.TextMessageException;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
 
 /** Sets the blocks in the map */
 public class RestoreBlocksTask implements Task {
@@ -47,8 +48,23 @@ public class RestoreBlocksTask implements Task {
 
     @Override
     public void execute(SurvivalGame survivalGame) throws TextMessageException {
+        if (survivalGame.getConfig().getResetStrategy().orElse(ResetStrategy.RESTORE_BLOCKS) != ResetStrategy.RESTORE_BLOCKS) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ResetBlocksProgressable progressable = new ResetBlocksProgressable(survivalGame);
+        survivalGame.setBlockRestore(progressable.getCompletion());
+
+        // No timeout: the restore is bounded per tick, and is cancelled when the game is stopped or deleted.
         ProgressBuilder.builder(MessageChannel.TO_CONSOLE, SurvivalGamesPlugin.SYNC_EXECUTOR, SurvivalGamesPlugin.ASYNC_EXECUTOR)
-                .runAsync(new ResetBlocksProgressable(survivalGame), "Resetting Blocks", Duration.of(5, ChronoUnit.MINUTES))
+                .runAsync(progressable, "Resetting Blocks", null)
+                .runAsync(channel -> {
+                    if (!progressable.getCompletion().isCancelled()) {
+                        channel.send(Text.of("Reset blocks of ", survivalGame.getName(), " in ",
+                                Duration.ofNanos(System.nanoTime() - start).toMillis(), " ms"));
+                    }
+                }, "", null)
                 .start();
     }
 
@@ -26,6 +26,7 @@
 package io.github.m0pt0pmatt.survivalgames.task;
 
 import io.github.m0pt0pmatt.survivalgames.Util;
+import io.github.m0pt0pmatt.survivalgames.commandblock.CommandBlockIndex;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.tileentity.CommandBlock;
@@ -45,12 +46,13 @@ public class SetCommandBlocksTask implements Task {
         String worldName = Util.getOrThrow(survivalGame.getConfig().getWorldName(), "world-name");
         World world = Util.getOrThrow(Sponge.getServer().getWorld(worldName), "world");
 
-        survivalGame.getCommandBlocks().clear();
+        CommandBlockIndex index = survivalGame.getCommandBlockIndex();
+        index.clear();
 
         world.getTileEntities()
                 .stream()
                 .filter(tileEntity -> tileEntity instanceof CommandBlock)
-                .forEach(tileEntity -> survivalGame.getCommandBlocks().add((CommandBlock) tileEntity));
+                .forEach(tileEntity -> index.put((CommandBlock) tileEntity));
     }
 
     public static SetCommandBlocksTask getInstance() {
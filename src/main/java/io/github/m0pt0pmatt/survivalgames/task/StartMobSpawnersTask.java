@@ -28,14 +28,13 @@ package io.github.m0pt0pmatt.survivalgames.task;
 import static io.github.m0pt0pmatt.survivalgames.Util.getOrThrow;
 
 import io.github.m0pt0pmatt.survivalgames.command.CommandKeys;
-import io.github.m0pt0pmatt.survivalgames.data.MobSpawnArea;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.mobspawn.ActiveMobSpawnRepository;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.World;
 
-/** Starts the mob spawners, which will spawn entities continuously. */
+/** Starts the mob spawner of the game, which will spawn entities continuously in every mob spawn area. */
 public class StartMobSpawnersTask implements Task {
 
     private static final Task INSTANCE = new StartMobSpawnersTask();
@@ -48,11 +47,8 @@ public class StartMobSpawnersTask implements Task {
                 getOrThrow(survivalGame.getConfig().getWorldName(), CommandKeys.WORLD_NAME);
         World world = getOrThrow(Sponge.getServer().getWorld(worldName), CommandKeys.WORLD);
 
-        for (MobSpawnArea mobSpawnArea : survivalGame.getConfig().getMobSpawnAreas()) {
-            survivalGame
-                    .getActiveMobSpawners()
-                    .add(ActiveMobSpawnRepository.start(survivalGame, mobSpawnArea, world));
-        }
+        survivalGame.getMobSpawnStats().reset();
+        ActiveMobSpawnRepository.start(survivalGame, world).ifPresent(survivalGame.getActiveMobSpawners()::add);
     }
 
     public static Task getInstance() {
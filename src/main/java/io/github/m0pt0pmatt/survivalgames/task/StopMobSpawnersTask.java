@@ -25,6 +25,7 @@
 
 package io.github.m0pt0pmatt.survivalgames.task;
 
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import io.github.m0pt0pmatt.survivalgames.mobspawn.ActiveMobSpawnRepository;
 import org.spongepowered.api.util.TextMessageException;
@@ -38,6 +39,9 @@ public class StopMobSpawnersTask implements Task {
 
     @Override
     public void execute(SurvivalGame survivalGame) throws TextMessageException {
+        if (!survivalGame.getActiveMobSpawners().isEmpty()) {
+            SurvivalGamesPlugin.LOGGER.info("Mobs of {}: {}", survivalGame.getName(), survivalGame.getMobSpawnStats().toText().toPlain());
+        }
         survivalGame.getActiveMobSpawners().forEach(ActiveMobSpawnRepository::stop);
     }
 
@@ -25,7 +25,6 @@
 
 package io.github.m0pt0pmatt.survivalgames.task.player;
 
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.util.TextMessageException;
@@ -50,7 +49,7 @@ public class DelayedPlayerTask extends PlayerTask {
 
     @Override
     public void execute(SurvivalGame survivalGame, Player player) throws TextMessageException {
-        SurvivalGamesPlugin.SYNC_EXECUTOR.schedule(
+        survivalGame.getTimingWheel().schedule(
                 () -> {
                     try {
                         task.execute(survivalGame, player);
@@ -0,0 +1,159 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.thread;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.loot.ChestPlan;
+import io.github.m0pt0pmatt.survivalgames.loot.LootPlanner;
+import io.github.m0pt0pmatt.survivalgames.loot.LootTable;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.block.tileentity.carrier.Chest;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.item.inventory.Container;
+import org.spongepowered.api.item.inventory.type.CarriedInventory;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fills chests with loot. The contents of every chest are planned on the calling thread, then
+ * applied on the main thread within the game's per-tick budget, nearest to a spawn point first.
+ * Chests which a player of the game is looking into are left alone.
+ */
+public class FillChestsProgressable extends TickBudgetedProgressable {
+
+    private final World world;
+    private final List<Vector3i> positions;
+    private final List<Vector3d> spawnPoints;
+    private final LootTable lootTable;
+    private final SurvivalGame survivalGame;
+    private final int chestMidpoint;
+    private final int chestRange;
+
+    private volatile List<ChestPlan> plans = Collections.emptyList();
+    private int next = 0;
+
+    /**
+     * Creates the progressable. Must be called on the main thread, since it copies the game's chest
+     * positions and spawn points.
+     *
+     * @param survivalGame The game.
+     * @param world The world of the game.
+     * @param positions The chest positions.
+     * @param chestMidpoint The average number of items per chest.
+     * @param chestRange How far the number of items may be from the midpoint.
+     */
+    public FillChestsProgressable(SurvivalGame survivalGame, World world, Collection<Vector3i> positions, int chestMidpoint, int chestRange) {
+        super(survivalGame.getConfig().getRestoreBudgetMillis().filter(b -> b > 0).orElse(GameConfig.DEFAULT_RESTORE_BUDGET_MILLIS), "chests");
+        this.survivalGame = survivalGame;
+        this.world = world;
+        this.positions = new ArrayList<>(positions);
+        this.spawnPoints = new ArrayList<>(survivalGame.getConfig().getSpawnPoints());
+        this.lootTable = survivalGame.getConfig().getItemConfig().getLootTable();
+        this.chestMidpoint = chestMidpoint;
+        this.chestRange = chestRange;
+    }
+
+    @Override
+    public void run() {
+        plans = LootPlanner.plan(positions, spawnPoints, lootTable, survivalGame.getRandom(), chestMidpoint, chestRange);
+        super.run();
+    }
+
+    @Override
+    protected long getTotal() {
+        return plans.size();
+    }
+
+    @Override
+    protected int process(int count) {
+        Set<Vector3i> viewed = getViewedChests();
+        int done = 0;
+        while (done < count && next < plans.size()) {
+            apply(plans.get(next++), viewed);
+            done++;
+        }
+        return done;
+    }
+
+    private void apply(ChestPlan plan, Set<Vector3i> viewed) {
+        Optional<TileEntity> tileEntity = world.getTileEntity(plan.getPosition());
+        if (!tileEntity.isPresent() || !(tileEntity.get() instanceof Chest) || viewed.contains(plan.getPosition())) {
+            return;
+        }
+
+        plan.apply((Chest) tileEntity.get(), lootTable);
+    }
+
+    /** Chests open in front of a player are skipped, so items do not vanish while they are taken. */
+    private Set<Vector3i> getViewedChests() {
+        return getViewedChests(survivalGame);
+    }
+
+    /**
+     * Gets the chests, and the chests connected to them, which a player of the game is looking into.
+     *
+     * @param survivalGame The game.
+     * @return The chest positions.
+     */
+    public static Set<Vector3i> getViewedChests(SurvivalGame survivalGame) {
+        Set<Vector3i> viewed = new HashSet<>();
+        survivalGame.forEachPlayer(uuid -> addViewedChest(uuid, viewed));
+        return viewed;
+    }
+
+    private static void addViewedChest(UUID uuid, Set<Vector3i> viewed) {
+        Optional<Player> player = Sponge.getServer().getPlayer(uuid);
+        if (!player.isPresent()) {
+            return;
+        }
+
+        Optional<Container> container = player.get().getOpenInventory();
+        if (!container.isPresent() || !(container.get() instanceof CarriedInventory)) {
+            return;
+        }
+
+        Optional<?> carrier = ((CarriedInventory<?>) container.get()).getCarrier();
+        if (carrier.isPresent() && carrier.get() instanceof Chest) {
+            Chest chest = (Chest) carrier.get();
+            viewed.add(chest.getLocation().getBlockPosition());
+            for (Chest connected : chest.getConnectedChests()) {
+                viewed.add(connected.getLocation().getBlockPosition());
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.thread;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.game.ChunkTickets;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the chunks of a game's block area, and keeps them loaded with chunk tickets. Chunks are
+ * requested asynchronously, a few per tick within the game's per-tick budget, so a platform which
+ * loads them synchronously anyway spreads the loads over several ticks.
+ */
+public class LoadChunksProgressable extends TickBudgetedProgressable {
+
+    private final World world;
+    private final ChunkTickets tickets;
+    private final List<Vector3i> chunks = new ArrayList<>();
+    private final List<CompletableFuture<Void>> loads = new ArrayList<>();
+    private int next = 0;
+
+    /**
+     * Creates the progressable.
+     *
+     * @param survivalGame The game.
+     * @param world The world of the game.
+     * @param tickets The tickets holding the chunks loaded.
+     * @param minChunk The lesser chunk position, inclusive.
+     * @param maxChunk The greater chunk position, inclusive.
+     */
+    public LoadChunksProgressable(SurvivalGame survivalGame, World world, ChunkTickets tickets, Vector3i minChunk, Vector3i maxChunk) {
+        super(survivalGame.getConfig().getRestoreBudgetMillis().filter(b -> b > 0).orElse(GameConfig.DEFAULT_RESTORE_BUDGET_MILLIS), "chunks");
+        this.world = world;
+        this.tickets = tickets;
+        for (int x = minChunk.getX(); x <= maxChunk.getX(); x++) {
+            for (int z = minChunk.getZ(); z <= maxChunk.getZ(); z++) {
+                chunks.add(new Vector3i(x, 0, z));
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        super.run();
+        if (isCancelled()) {
+            return;
+        }
+
+        setDetail("waiting for the last chunks");
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).join();
+        setDetail(String.format("%,d of %,d chunks held", tickets.getHeldChunks(), chunks.size()));
+    }
+
+    @Override
+    protected long getTotal() {
+        return chunks.size();
+    }
+
+    @Override
+    protected int process(int count) {
+        int done = 0;
+        while (done < count && next < chunks.size() && !tickets.isClosed()) {
+            Vector3i chunk = chunks.get(next++);
+            // Never generate chunks: the map outside the prepared arena stays as it is.
+            loads.add(world.loadChunkAsync(chunk, false).thenAcceptAsync(loaded -> {
+                if (loaded.isPresent()) {
+                    tickets.hold(world, chunk);
+                }
+            }, SurvivalGamesPlugin.SYNC_EXECUTOR));
+            done++;
+        }
+        return done;
+    }
+}
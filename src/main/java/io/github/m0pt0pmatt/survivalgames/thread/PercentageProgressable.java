@@ -27,14 +27,25 @@ package io.github.m0pt0pmatt.survivalgames.thread;
 
 public abstract class PercentageProgressable implements Progressable {
 
-    private double percentage = 0.0;
+    private volatile double percentage = 0.0;
+    private volatile String detail = null;
 
     void setPercentage(double percentage) {
         this.percentage = percentage;
     }
 
+    /**
+     * Sets extra information shown after the percentage, such as a rate or an ETA.
+     *
+     * @param detail The detail, or null for none.
+     */
+    void setDetail(String detail) {
+        this.detail = detail;
+    }
+
     @Override
     public String getProgress() {
-        return String.format( "%.0f%%", percentage * 100);
+        String progress = String.format( "%.0f%%", percentage * 100);
+        return detail == null ? progress : progress + " (" + detail + ")";
     }
 }
@@ -25,61 +25,202 @@
 
 package io.github.m0pt0pmatt.survivalgames.thread;
 
-import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import com.flowpowered.math.vector.Vector2i;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.data.RestoreMode;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import io.github.m0pt0pmatt.survivalgames.snapshot.BlockChangeJournal;
+import io.github.m0pt0pmatt.survivalgames.snapshot.BlockCursor;
+import io.github.m0pt0pmatt.survivalgames.snapshot.SectionVerifier;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.BlockChangeFlag;
 import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.World;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
-public class ResetBlocksProgressable extends PercentageProgressable {
+/**
+ * Restores the blocks of a game from its arena snapshot, within the game's per-tick restore budget.
+ * Only the positions in the game's block change journal are restored, unless the journal is
+ * incomplete, in which case every section is first verified against its hash, and only the
+ * sections which differ are restored.
+ *
+ * <p>In {@link RestoreMode#BULK} mode, blocks are restored chunk by chunk without neighbour
+ * notifications or physics, and each chunk's tile entities are restored once the chunk is finished.
+ */
+public class ResetBlocksProgressable extends TickBudgetedProgressable {
+
+    private static final Comparator<Vector3i> CHUNK_ORDER = Comparator
+            .comparingInt((Vector3i position) -> position.getZ() >> 4)
+            .thenComparingInt(position -> position.getX() >> 4)
+            .thenComparingInt(Vector3i::getY);
 
     private final SurvivalGame survivalGame;
+    private final RestoreMode mode;
+    private final BlockChangeFlag flag;
+
+    private ArenaSnapshot snapshot;
+    private World world;
+    private SectionVerifier verifier;
+    private BlockCursor cursor;
+    private Iterator<Vector3i> positions;
+    private Map<Vector2i, List<DataContainer>> tileEntitiesByChunk;
+    private Iterator<DataContainer> tileEntities;
+    private Vector2i chunk;
+    private volatile long total;
 
     public ResetBlocksProgressable(SurvivalGame survivalGame) {
+        super(survivalGame.getConfig().getRestoreBudgetMillis().filter(b -> b > 0).orElse(GameConfig.DEFAULT_RESTORE_BUDGET_MILLIS), "blocks");
         this.survivalGame = survivalGame;
+        this.mode = survivalGame.getConfig().getRestoreMode().orElse(RestoreMode.BLOCK);
+        this.flag = mode == RestoreMode.BULK ? BlockChangeFlags.NONE : BlockChangeFlags.ALL;
     }
 
     @Override
     public void run() {
 
-        int chunkCount = 50000;
-        int total = survivalGame.getConfig().getBlocks().size();
-
-        Iterator<BlockSnapshot> iterator = survivalGame.getConfig().getBlocks().iterator();
-        for (int i = 0; i < total; i += chunkCount) {
-
-            int start = i;
-            Future<?> future = SurvivalGamesPlugin.SYNC_EXECUTOR.submit(() -> {
-                for (int j = start; j < start + chunkCount; j++) {
-                    BlockSnapshot blockSnapshot = iterator.next();
-                    blockSnapshot.restore(true, BlockChangeFlags.ALL);
-                }
-            });
-
-            try {
-                future.get();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                return;
-            } catch (ExecutionException e) {
-                if (!(e.getCause() instanceof NoSuchElementException)) {
-                    e.printStackTrace();
-                    return;
-                }
+        snapshot = survivalGame.getConfig().getArenaSnapshot().orElseThrow(() -> new IllegalStateException("No blocks set"));
+        world = survivalGame.getConfig().getWorldName().flatMap(n -> Sponge.getServer().getWorld(n)).orElseThrow(() -> new IllegalStateException("No world yet"));
+
+        BlockChangeJournal journal = survivalGame.getBlockChangeJournal();
+        Optional<Set<Vector3i>> changed = journal.drain();
+        if (changed.isPresent()) {
+            List<Vector3i> sorted = new ArrayList<>(changed.get());
+            if (mode == RestoreMode.BULK) {
+                sorted.sort(CHUNK_ORDER);
+            }
+            positions = sorted.iterator();
+            total = sorted.size();
+        } else {
+            verifier = new SectionVerifier(snapshot, world);
+            total = snapshot.getBlockCount();
+        }
+
+        // Tile entities are always restored, since their contents change without a block change.
+        tileEntitiesByChunk = new LinkedHashMap<>();
+        for (Map.Entry<Vector3i, DataContainer> entry : snapshot.getTileEntities().entrySet()) {
+            Vector2i key = mode == RestoreMode.BULK ? chunkOf(entry.getKey()) : Vector2i.ZERO;
+            tileEntitiesByChunk.computeIfAbsent(key, k -> new ArrayList<>()).add(entry.getValue());
+        }
+        total += snapshot.getTileEntities().size();
+
+        try {
+            super.run();
+        } catch (RuntimeException e) {
+            journal.invalidate();
+            throw e;
+        }
+
+        if (isCancelled()) {
+            journal.invalidate();
+        }
+    }
+
+    @Override
+    protected long getTotal() {
+        return total;
+    }
+
+    @Override
+    protected int process(int count) {
+        int done = 0;
+
+        if (verifier != null && cursor == null) {
+            done += verifier.advance(count);
+            if (!verifier.isDone()) {
+                return done;
+            }
+
+            int[] changedSections = verifier.getChangedSections();
+            for (int section : changedSections) {
+                total += snapshot.getSectionVolume(section);
             }
+            cursor = snapshot.cursor(changedSections);
+        }
 
-            setPercentage((double) i / total);
+        if (cursor != null) {
+            while (done < count && cursor.hasNext()) {
+                done += enterChunk(chunkOf(snapshot.getSectionMin(cursor.getSectionIndex())));
+                done += cursor.advance(Math.min(count - done, cursor.remainingInSection()), (x, y, z, state) -> {
+                    if (state != null) {
+                        restoreBlock(x, y, z, state);
+                    }
+                });
+            }
+        } else {
+            while (done < count && positions.hasNext()) {
+                Vector3i position = positions.next();
+                done += enterChunk(chunkOf(position));
+                snapshot.getBlock(position.getX(), position.getY(), position.getZ())
+                        .ifPresent(state -> restoreBlock(position.getX(), position.getY(), position.getZ(), state));
+                done++;
+            }
+        }
 
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                return;
+        if (done < count) {
+            if (tileEntities == null) {
+                List<DataContainer> remaining = new ArrayList<>();
+                tileEntitiesByChunk.values().forEach(remaining::addAll);
+                tileEntities = remaining.iterator();
             }
+
+            while (done < count && tileEntities.hasNext()) {
+                restoreTileEntity(tileEntities.next());
+                done++;
+            }
+        }
+
+        return done;
+    }
+
+    /**
+     * Moves on to a chunk. In bulk mode, the tile entities of the previous chunk are restored once
+     * that chunk is finished.
+     *
+     * @param next The chunk being entered.
+     * @return The number of tile entities restored.
+     */
+    private int enterChunk(Vector2i next) {
+        if (mode != RestoreMode.BULK || next.equals(chunk)) {
+            return 0;
         }
+
+        int restored = 0;
+        if (chunk != null) {
+            List<DataContainer> finished = tileEntitiesByChunk.remove(chunk);
+            if (finished != null) {
+                finished.forEach(this::restoreTileEntity);
+                restored = finished.size();
+            }
+        }
+        chunk = next;
+        return restored;
+    }
+
+    private void restoreBlock(int x, int y, int z, BlockState state) {
+        if (!world.getBlock(x, y, z).equals(state)) {
+            world.setBlock(x, y, z, state, flag);
+        }
+    }
+
+    private void restoreTileEntity(DataContainer container) {
+        Sponge.getDataManager().deserialize(BlockSnapshot.class, container)
+                .ifPresent(blockSnapshot -> blockSnapshot.restore(true, BlockChangeFlags.ALL));
+    }
+
+    private static Vector2i chunkOf(Vector3i position) {
+        return new Vector2i(position.getX() >> 4, position.getZ() >> 4);
     }
 }
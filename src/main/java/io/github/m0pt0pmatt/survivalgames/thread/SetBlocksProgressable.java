@@ -26,51 +26,138 @@
 package io.github.m0pt0pmatt.survivalgames.thread;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Lists;
+import com.flowpowered.math.vector.Vector3i;
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
 import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSection;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.tileentity.TileEntity;
+import org.spongepowered.api.block.tileentity.carrier.Chest;
+import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
-public class SetBlocksProgressable extends PercentageProgressable {
+/**
+ * Captures a game's block area into a new arena snapshot. Each tick, a few chunk columns are copied
+ * into immutable block volumes on the main thread, and the copies are encoded into sections on the
+ * async executor.
+ */
+public class SetBlocksProgressable extends TickBudgetedProgressable {
 
     private final SurvivalGame survivalGame;
+    private final List<CompletableFuture<Void>> encodings = new ArrayList<>();
+    private final List<Vector3i> chestPositions = new ArrayList<>();
+
+    private ArenaSnapshot snapshot;
+    private World world;
+    private int column = 0;
 
     public SetBlocksProgressable(SurvivalGame survivalGame) {
+        super(survivalGame.getConfig().getRestoreBudgetMillis().filter(b -> b > 0).orElse(GameConfig.DEFAULT_RESTORE_BUDGET_MILLIS), "chunks");
         this.survivalGame = survivalGame;
     }
 
     @Override
     public void run() {
-        setBlocks();
-    }
-
-    private void setBlocks() {
         Vector3d lesser = survivalGame.getConfig().getBlockArea().getLesserBoundary().orElseThrow(() -> new IllegalStateException("Missing boundaries"));
         Vector3d greater = survivalGame.getConfig().getBlockArea().getGreaterBoundary().orElseThrow(() -> new IllegalStateException("Missing boundaries"));
 
-        ArrayList<BlockSnapshot> blocks = Lists.newArrayList();
-        World world = survivalGame.getConfig().getWorldName().flatMap(n -> Sponge.getServer().getWorld(n)).orElseThrow(() -> new IllegalStateException("No world yet"));
-
-        long totalBlocks = (greater.getFloorX() - lesser.getFloorX())
-                * (greater.getFloorY() - lesser.getFloorY())
-                * (greater.getFloorZ() - lesser.getFloorZ());
-        long count = 0;
-
-        for (int x = lesser.getFloorX(); x < greater.getFloorX(); x++) {
-            for (int y = lesser.getFloorY(); y < greater.getFloorY(); y++) {
-                for (int z = lesser.getFloorZ(); z < greater.getFloorZ(); z++) {
-                    blocks.add(world.createSnapshot(x, y, z));
-                    count++;
-                    if (totalBlocks != 0) {
-                        setPercentage((double) count / totalBlocks);
-                    }
-                }
+        Vector3i size = greater.floor().toInt().sub(lesser.floor().toInt());
+        if (size.getX() <= 0 || size.getY() <= 0 || size.getZ() <= 0) {
+            throw new IllegalStateException("The block area must be at least one block wide, tall and deep, but is " + size);
+        }
+
+        world = survivalGame.getConfig().getWorldName().flatMap(n -> Sponge.getServer().getWorld(n)).orElseThrow(() -> new IllegalStateException("No world yet"));
+        snapshot = new ArenaSnapshot(lesser.floor().toInt(), greater.floor().toInt());
+
+        super.run();
+        if (isCancelled()) {
+            return;
+        }
+
+        CompletableFuture.allOf(encodings.toArray(new CompletableFuture[0])).join();
+        CompletableFuture.runAsync(this::publish, SurvivalGamesPlugin.SYNC_EXECUTOR).join();
+    }
+
+    /**
+     * Hands the snapshot to the game. Runs on the main thread, where ChestIndexListener edits the
+     * chest index. Chests placed or broken while the area was being captured are caught by checking
+     * the world again.
+     */
+    private void publish() {
+        Set<Vector3i> positions = new LinkedHashSet<>(chestPositions);
+        survivalGame.getConfig().getChestPositions().ifPresent(positions::addAll);
+
+        Iterator<Vector3i> iterator = positions.iterator();
+        while (iterator.hasNext()) {
+            Optional<TileEntity> tileEntity = world.getTileEntity(iterator.next());
+            if (!tileEntity.isPresent() || !(tileEntity.get() instanceof Chest)) {
+                iterator.remove();
             }
         }
 
-        survivalGame.getConfig().setBlocks(blocks);
+        survivalGame.getConfig().setArenaSnapshot(snapshot);
+        survivalGame.getConfig().setChestPositions(positions);
+        survivalGame.getBlockChangeJournal().reset();
+    }
+
+    @Override
+    protected long getTotal() {
+        return snapshot.getColumnCount();
+    }
+
+    /** A column is a whole chunk's worth of blocks, so start with one. */
+    @Override
+    protected int getInitialSlice() {
+        return 1;
+    }
+
+    @Override
+    protected int process(int count) {
+        int done = 0;
+        while (done < count && column < snapshot.getColumnCount()) {
+            capture(column++);
+            done++;
+        }
+        return done;
+    }
+
+    private void capture(int column) {
+        int first = column * snapshot.getSectionsPerColumn();
+        int last = first + snapshot.getSectionsPerColumn() - 1;
+        Vector3i min = snapshot.getSectionMin(first);
+        Vector3i max = snapshot.getSectionMax(last).sub(Vector3i.ONE);
+
+        Chunk chunk = world.loadChunk(min.getX() >> 4, 0, min.getZ() >> 4, true)
+                .orElseThrow(() -> new IllegalStateException("Could not load chunk at " + min));
+
+        // Volume bounds are inclusive.
+        ImmutableBlockVolume copy = chunk.getBlockView(min, max).getImmutableBlockCopy();
+
+        for (TileEntity tileEntity : chunk.getTileEntities(t -> snapshot.contains(
+                t.getLocation().getBlockX(), t.getLocation().getBlockY(), t.getLocation().getBlockZ()))) {
+            snapshot.getTileEntities().put(tileEntity.getLocation().getBlockPosition(), tileEntity.getLocation().createSnapshot().toContainer());
+            if (tileEntity instanceof Chest) {
+                chestPositions.add(tileEntity.getLocation().getBlockPosition());
+            }
+        }
+
+        encodings.add(CompletableFuture.runAsync(() -> {
+            for (int i = first; i <= last; i++) {
+                ArenaSection.Builder builder = ArenaSection.builder();
+                snapshot.forEachBlock(i, (x, y, z, state) -> builder.set(ArenaSection.index(x & 15, y & 15, z & 15), copy.getBlock(x, y, z)));
+                snapshot.setSection(i, builder.build());
+            }
+        }, SurvivalGamesPlugin.ASYNC_EXECUTOR));
     }
 }
@@ -0,0 +1,178 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.thread;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.github.m0pt0pmatt.survivalgames.SurvivalGamesPlugin;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs work on the main thread in slices, spending at most a fixed number of milliseconds per tick.
+ * The cost of a unit of work is measured as it runs, and each slice is sized to fit the time left in
+ * the current tick.
+ *
+ * <p>{@link #run()} blocks until the work is done or cancelled, so this is meant to be run
+ * asynchronously. The work can be cancelled through {@link #getCompletion()}, and stops before the
+ * next slice.
+ */
+public abstract class TickBudgetedProgressable extends PercentageProgressable {
+
+    private static final long TICK_MILLIS = 50;
+    private static final int INITIAL_SLICE = 64;
+    private static final int MAX_SLICE = 1 << 20;
+    private static final double SMOOTHING = 0.25;
+
+    private final long budgetNanos;
+    private final String unitName;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private double nanosPerUnit = 0;
+    private volatile long processed = 0;
+    private long startNanos;
+
+    protected TickBudgetedProgressable(long budgetMillis, String unitName) {
+        checkArgument(budgetMillis > 0, "The budget must be positive");
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.unitName = unitName;
+    }
+
+    /**
+     * Gets the total number of units of work.
+     *
+     * @return The total.
+     */
+    protected abstract long getTotal();
+
+    /**
+     * Processes the next units of work. Always called on the main thread.
+     *
+     * @param count The maximum number of units to process.
+     * @return The number of units processed. Less than count once the work is done.
+     */
+    protected abstract int process(int count);
+
+    /**
+     * Gets how many units to process in the first slice, before the cost of a unit is known.
+     *
+     * @return The size of the first slice.
+     */
+    protected int getInitialSlice() {
+        return INITIAL_SLICE;
+    }
+
+    /**
+     * Gets a future which completes once the work is done. Cancelling it stops the work before the
+     * next slice.
+     *
+     * @return The future.
+     */
+    public Future<Void> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void run() {
+        startNanos = System.nanoTime();
+        ScheduledFuture<?> ticker = SurvivalGamesPlugin.SYNC_EXECUTOR.scheduleAtFixedRate(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            completion.cancel(false);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (CancellationException e) {
+            // Stopped before the next slice.
+        } finally {
+            ticker.cancel(false);
+            updateProgress();
+        }
+    }
+
+    /**
+     * Whether the work was cancelled before it was done.
+     *
+     * @return True if the work was cancelled.
+     */
+    protected boolean isCancelled() {
+        return completion.isCancelled();
+    }
+
+    private void tick() {
+        long tickStart = System.nanoTime();
+        try {
+            while (!completion.isDone()) {
+                long remaining = budgetNanos - (System.nanoTime() - tickStart);
+                if (remaining <= 0) {
+                    break;
+                }
+
+                int slice = nanosPerUnit == 0 ? getInitialSlice() : (int) Math.max(1, Math.min(MAX_SLICE, remaining / nanosPerUnit));
+
+                long sliceStart = System.nanoTime();
+                int done = process(slice);
+                long elapsed = System.nanoTime() - sliceStart;
+
+                if (done > 0) {
+                    double cost = (double) elapsed / done;
+                    nanosPerUnit = nanosPerUnit == 0 ? cost : SMOOTHING * cost + (1 - SMOOTHING) * nanosPerUnit;
+                    processed += done;
+                }
+
+                if (done < slice) {
+                    completion.complete(null);
+                }
+            }
+        } catch (Throwable t) {
+            completion.completeExceptionally(t);
+        }
+
+        updateProgress();
+    }
+
+    private void updateProgress() {
+        long total = getTotal();
+        if (total > 0) {
+            setPercentage(Math.min(1.0, (double) processed / total));
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (seconds <= 0 || processed == 0) {
+            return;
+        }
+
+        double rate = processed / seconds;
+        long eta = (long) Math.ceil(Math.max(0, total - processed) / rate);
+        setDetail(String.format("%,.0f %s/s, ETA %ds", rate, unitName, eta));
+    }
+}
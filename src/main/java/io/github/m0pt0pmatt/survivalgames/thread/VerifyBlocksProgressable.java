@@ -0,0 +1,74 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.thread;
+
+import io.github.m0pt0pmatt.survivalgames.data.GameConfig;
+import io.github.m0pt0pmatt.survivalgames.game.SurvivalGame;
+import io.github.m0pt0pmatt.survivalgames.snapshot.ArenaSnapshot;
+import io.github.m0pt0pmatt.survivalgames.snapshot.SectionVerifier;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.world.World;
+
+/** Compares a game's arena snapshot with its world, within the game's per-tick budget. */
+public class VerifyBlocksProgressable extends TickBudgetedProgressable {
+
+    private final SurvivalGame survivalGame;
+
+    private ArenaSnapshot snapshot;
+    private SectionVerifier verifier;
+
+    public VerifyBlocksProgressable(SurvivalGame survivalGame) {
+        super(survivalGame.getConfig().getRestoreBudgetMillis().filter(b -> b > 0).orElse(GameConfig.DEFAULT_RESTORE_BUDGET_MILLIS), "blocks");
+        this.survivalGame = survivalGame;
+    }
+
+    @Override
+    public void run() {
+        snapshot = survivalGame.getConfig().getArenaSnapshot().orElseThrow(() -> new IllegalStateException("No blocks set"));
+        World world = survivalGame.getConfig().getWorldName().flatMap(n -> Sponge.getServer().getWorld(n)).orElseThrow(() -> new IllegalStateException("No world yet"));
+        verifier = new SectionVerifier(snapshot, world);
+
+        super.run();
+    }
+
+    @Override
+    protected long getTotal() {
+        return snapshot.getBlockCount();
+    }
+
+    @Override
+    protected int process(int count) {
+        return verifier.advance(count);
+    }
+
+    public ArenaSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public SectionVerifier getVerifier() {
+        return verifier;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of SurvivalGames, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Matthew Broomfield <m0pt0pmatt17@gmail.com>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package io.github.m0pt0pmatt.survivalgames.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimingWheelTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private TimingWheel wheel;
+
+    @Before
+    public void setUp() {
+        clock.set(0);
+        wheel = new TimingWheel(clock::get, false);
+    }
+
+    @Test
+    public void timerWhichStopsTheGameCanScheduleANewTimer() {
+        AtomicInteger restarted = new AtomicInteger();
+        wheel.schedule(() -> {
+            wheel.cancelAll();
+            wheel.schedule(restarted::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        }, 50, TimeUnit.MILLISECONDS);
+
+        advanceTo(1);
+        assertEquals(1, wheel.getPendingCount());
+        assertTrue(wheel.isRunning());
+
+        advanceTo(3);
+        assertEquals(1, restarted.get());
+        assertEquals(0, wheel.getPendingCount());
+        assertFalse(wheel.isRunning());
+    }
+
+    @Test
+    public void cancelAllDropsTimersWhichAreAlreadyDue() {
+        AtomicInteger ran = new AtomicInteger();
+        TimingWheel.Timer second = wheel.schedule(ran::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        wheel.schedule(wheel::cancelAll, 50, TimeUnit.MILLISECONDS);
+        wheel.schedule(ran::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        advanceTo(1);
+        assertEquals(1, ran.get());
+        assertTrue(second.isCancelled());
+        assertEquals(0, wheel.getPendingCount());
+        assertFalse(wheel.isRunning());
+    }
+
+    @Test
+    public void periodicTimerWhichCancelsItselfAfterCancelAllKeepsTheCountAtZero() {
+        AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Timer[] timer = new TimingWheel.Timer[1];
+        timer[0] = wheel.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            wheel.cancelAll();
+            timer[0].cancel();
+        }, 50, 50, TimeUnit.MILLISECONDS);
+
+        advanceTo(5);
+        assertEquals(1, runs.get());
+        assertEquals(0, wheel.getPendingCount());
+        assertFalse(wheel.isRunning());
+    }
+
+    @Test
+    public void oneShotTimerIsRetiredBeforeItRuns() {
+        AtomicInteger pendingWhileRunning = new AtomicInteger(-1);
+        TimingWheel.Timer[] timer = new TimingWheel.Timer[1];
+        timer[0] = wheel.schedule(() -> {
+            timer[0].cancel();
+            pendingWhileRunning.set(wheel.getPendingCount());
+        }, 50, TimeUnit.MILLISECONDS);
+
+        advanceTo(1);
+        assertEquals(0, pendingWhileRunning.get());
+        assertEquals(0, wheel.getPendingCount());
+        assertTrue(timer[0].isCancelled());
+    }
+
+    @Test
+    public void periodicTimerRunsEveryPeriodUntilCancelled() {
+        AtomicInteger runs = new AtomicInteger();
+        TimingWheel.Timer timer = wheel.scheduleAtFixedRate(runs::incrementAndGet, 50, 100, TimeUnit.MILLISECONDS);
+
+        advanceTo(5);
+        assertEquals(3, runs.get());
+        assertEquals(1, wheel.getPendingCount());
+
+        timer.cancel();
+        advanceTo(10);
+        assertEquals(3, runs.get());
+        assertEquals(0, wheel.getPendingCount());
+        assertFalse(wheel.isRunning());
+    }
+
+    private void advanceTo(long tick) {
+        while (clock.get() < tick) {
+            clock.incrementAndGet();
+            wheel.advance();
+        }
+    }
+}